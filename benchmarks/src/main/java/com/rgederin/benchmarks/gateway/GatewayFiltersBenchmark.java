@@ -0,0 +1,142 @@
+package com.rgederin.benchmarks.gateway;
+
+import com.gederin.filters.ResponseFilter;
+import com.gederin.filters.TrackingFilter;
+import com.gederin.util.FilterUtils;
+import com.netflix.zuul.context.RequestContext;
+import com.rgederin.common.tracing.CorrelationIds;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Header lookups in {@link FilterUtils} and the per-request work of {@link TrackingFilter} and {@link ResponseFilter}.
+ * With {@code correlationIdPresent=false} every invocation generates a new correlation id. The legacy benchmarks
+ * repeat what the filters did before the headers were cached per request and ids came from UUID.randomUUID().
+ * Run with {@code -prof gc} to compare the bytes allocated per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayFiltersBenchmark {
+
+    @Param({"true", "false"})
+    public boolean correlationIdPresent;
+
+    private final FilterUtils filterUtils = new FilterUtils();
+
+    private final TrackingFilter trackingFilter = new TrackingFilter(filterUtils);
+
+    private final ResponseFilter responseFilter = new ResponseFilter(filterUtils);
+
+    private RequestContext context;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/organization/v1/organizations/1");
+        request.addHeader(FilterUtils.ORG_ID, "organization-1");
+        request.addHeader(FilterUtils.USER_ID, "user-1");
+        request.addHeader(FilterUtils.AUTH_TOKEN, "token");
+
+        if (correlationIdPresent) {
+            request.addHeader(FilterUtils.CORRELATION_ID, "2f0c7bd4-5d71-4a8e-9d8c-52f0d3f0a9b1");
+        }
+
+        context = RequestContext.getCurrentContext();
+        context.setRequest(request);
+        // Discard response headers so repeated invocations do not accumulate them
+        context.setResponse(new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public void addHeader(String name, String value) {
+            }
+        });
+    }
+
+    @Benchmark
+    public String uuidCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrderedCorrelationId() {
+        return CorrelationIds.next();
+    }
+
+    @Benchmark
+    public void legacyHeaderLookups(Blackhole blackhole) {
+        blackhole.consume(legacyHeader(FilterUtils.CORRELATION_ID));
+        blackhole.consume(legacyHeader(FilterUtils.ORG_ID));
+        blackhole.consume(legacyHeader(FilterUtils.USER_ID));
+    }
+
+    @Benchmark
+    public void cachedHeaderLookups(Blackhole blackhole) {
+        startRequest();
+
+        blackhole.consume(filterUtils.getCorrelationId());
+        blackhole.consume(filterUtils.getOrgId());
+        blackhole.consume(filterUtils.getUserId());
+    }
+
+    @Benchmark
+    public Object legacyTrackingAndResponseFilters() {
+        context.getZuulRequestHeaders().clear();
+
+        // TrackingFilter: presence check, generation and the debug log argument
+        if (legacyHeader(FilterUtils.CORRELATION_ID) == null) {
+            String correlationId = UUID.randomUUID().toString();
+            RequestContext.getCurrentContext().addZuulRequestHeader(FilterUtils.CORRELATION_ID, correlationId);
+            MDC.put(FilterUtils.CORRELATION_ID, correlationId);
+        }
+        legacyHeader(FilterUtils.CORRELATION_ID);
+
+        // ResponseFilter
+        RequestContext.getCurrentContext().getResponse()
+                .addHeader(FilterUtils.CORRELATION_ID, legacyHeader(FilterUtils.CORRELATION_ID));
+        return null;
+    }
+
+    @Benchmark
+    public Object trackingAndResponseFilters() {
+        startRequest();
+
+        trackingFilter.run();
+        return responseFilter.run();
+    }
+
+    private void startRequest() {
+        context.getZuulRequestHeaders().clear();
+        context.remove(FilterUtils.REQUEST_HEADERS);
+    }
+
+    private static String legacyHeader(String name) {
+        RequestContext ctx = RequestContext.getCurrentContext();
+
+        if (ctx.getRequest().getHeader(name) != null) {
+            return ctx.getRequest().getHeader(name);
+        } else {
+            return ctx.getZuulRequestHeaders().get(name);
+        }
+    }
+}
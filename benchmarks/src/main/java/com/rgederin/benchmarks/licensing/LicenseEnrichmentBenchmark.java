@@ -0,0 +1,49 @@
+package com.rgederin.benchmarks.licensing;
+
+import com.gederin.cloud.licensing.model.License;
+import com.gederin.cloud.licensing.model.Organization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code with*} builder chain used to create licenses and to copy organization fields into them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseEnrichmentBenchmark {
+
+    private License license;
+
+    private Organization organization;
+
+    @Setup
+    public void setUp() {
+        organization = LicenseFixtures.organization(LicenseFixtures.organizationId(1));
+        license = LicenseFixtures.license(1, organization.getId());
+    }
+
+    @Benchmark
+    public License buildLicense() {
+        return LicenseFixtures.license(1, organization.getId());
+    }
+
+    @Benchmark
+    public License enrichLicense() {
+        return license.withOrganization(organization);
+    }
+}
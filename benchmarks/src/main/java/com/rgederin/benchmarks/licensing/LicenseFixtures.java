@@ -0,0 +1,49 @@
+package com.rgederin.benchmarks.licensing;
+
+import com.gederin.cloud.licensing.model.License;
+import com.gederin.cloud.licensing.model.Organization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class LicenseFixtures {
+
+    private LicenseFixtures() {
+    }
+
+    static License license(int index, String organizationId) {
+        return new License()
+                .withId(String.format("license-%08d", index))
+                .withOrganizationId(organizationId)
+                .withProductName("customer-crm-co")
+                .withLicenseType("user")
+                .withLicenseMax(100)
+                .withLicenseAllocated(index % 100)
+                .withComment("benchmark license");
+    }
+
+    static List<License> licenses(int count, int organizations) {
+        List<License> licenses = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            licenses.add(license(i, organizationId(i % organizations)));
+        }
+
+        return licenses;
+    }
+
+    static Organization organization(String organizationId) {
+        Organization organization = new Organization();
+        organization.setId(organizationId);
+        organization.setName("HR-PowerSuite");
+        organization.setContactName("Doug Drewry");
+        organization.setContactEmail("doug.drewry@hr.com");
+        organization.setContactPhone("920-555-1212");
+
+        return organization;
+    }
+
+    static String organizationId(int index) {
+        return String.format("organization-%06d", index);
+    }
+}
@@ -0,0 +1,155 @@
+package com.rgederin.benchmarks.licensing;
+
+import com.gederin.cloud.licensing.model.License;
+import com.gederin.cloud.licensing.repository.LicenseRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LicenseRepository} queries against an embedded H2 database created from the licensing
+ * service's data-h2.sql and seeded with {@code rows} licenses spread over {@code rows / 20} organizations.
+ * Set-up fails if the organization lookup does not use idx_licenses_organization_id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseRepositoryBenchmark {
+    private static final int LICENSES_PER_ORGANIZATION = 20;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String ORGANIZATION_INDEX = "IDX_LICENSES_ORGANIZATION_ID";
+
+    @Param({"10000", "500000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private LicenseRepository licenseRepository;
+
+    private int organizations;
+
+    @Configuration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            DataSourceAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            JpaRepositoriesAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = License.class)
+    @EnableJpaRepositories(basePackageClasses = LicenseRepository.class)
+    static class RepositoryConfiguration {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RepositoryConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cloud.bootstrap.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:licenses;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.platform=h2",
+                        "spring.jpa.hibernate.ddl-auto=none")
+                .run();
+
+        licenseRepository = context.getBean(LicenseRepository.class);
+        organizations = Math.max(1, rows / LICENSES_PER_ORGANIZATION);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        assertOrganizationLookupUsesIndex(jdbcTemplate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<License> findByOrganizationId() {
+        return licenseRepository.findByOrganizationId(randomOrganizationId());
+    }
+
+    @Benchmark
+    public License findByLicenseId() {
+        int index = ThreadLocalRandom.current().nextInt(rows);
+
+        return licenseRepository.findByLicenseId(LicenseFixtures.license(index, "").getLicenseId());
+    }
+
+    @Benchmark
+    public List<License> keysetPageByOrganization() {
+        return licenseRepository.findByOrganizationIdAndLicenseIdGreaterThanOrderByLicenseIdAsc(
+                randomOrganizationId(), "", PageRequest.of(0, 10));
+    }
+
+    private String randomOrganizationId() {
+        return LicenseFixtures.organizationId(ThreadLocalRandom.current().nextInt(organizations));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        String insert = "INSERT INTO licenses (license_id, organization_id, license_type, product_name, "
+                + "license_max, license_allocated, comment) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (License license : LicenseFixtures.licenses(rows, organizations)) {
+            batch.add(new Object[]{license.getLicenseId(), license.getOrganizationId(), license.getLicenseType(),
+                    license.getProductName(), license.getLicenseMax(), license.getLicenseAllocated(),
+                    license.getComment()});
+
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, batch);
+        }
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void assertOrganizationLookupUsesIndex(JdbcTemplate jdbcTemplate) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM licenses WHERE organization_id = ?", String.class, randomOrganizationId());
+
+        if (plan == null || !plan.toUpperCase().contains(ORGANIZATION_INDEX)) {
+            throw new IllegalStateException("Organization lookup does not use " + ORGANIZATION_INDEX + ": " + plan);
+        }
+    }
+}
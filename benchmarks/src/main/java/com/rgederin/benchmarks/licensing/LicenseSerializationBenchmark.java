@@ -0,0 +1,60 @@
+package com.rgederin.benchmarks.licensing;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gederin.cloud.licensing.model.License;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link License} as returned by the licensing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseSerializationBenchmark {
+    private static final TypeReference<List<License>> LICENSE_LIST = new TypeReference<List<License>>() {};
+
+    @Param({"1", "100", "1000"})
+    public int licenses;
+
+    private ObjectMapper objectMapper;
+
+    private List<License> payload;
+
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        payload = LicenseFixtures.licenses(licenses, Math.max(1, licenses / 20));
+        serialized = objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<License> deserialize() throws IOException {
+        return objectMapper.readValue(serialized, LICENSE_LIST);
+    }
+}
@@ -0,0 +1,80 @@
+package com.rgederin.benchmarks.licensing;
+
+import com.gederin.cloud.licensing.utils.UserContext;
+import com.gederin.cloud.licensing.utils.UserContextFilter;
+import com.gederin.cloud.licensing.utils.UserContextInterceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+
+/**
+ * Inbound header capture in {@link UserContextFilter} and outbound propagation in {@link UserContextInterceptor}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserContextPropagationBenchmark {
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private static final URI ORGANIZATION_URI = URI.create("http://organizationservice/v1/organizations/1");
+
+    private final UserContextFilter filter = new UserContextFilter();
+
+    private final UserContextInterceptor interceptor = new UserContextInterceptor();
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private final ClientHttpResponse clientResponse = new MockClientHttpResponse(EMPTY_BODY, HttpStatus.OK);
+
+    private final ClientHttpRequestExecution execution = (request, body) -> clientResponse;
+
+    private MockHttpServletRequest servletRequest;
+
+    private MockHttpServletResponse servletResponse;
+
+    @Setup
+    public void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/v1/licenses/all");
+        servletRequest.addHeader(UserContext.CORRELATION_ID, "2f0c7bd4-5d71-4a8e-9d8c-52f0d3f0a9b1");
+        servletRequest.addHeader(UserContext.USER_ID, "user-1");
+        servletRequest.addHeader(UserContext.AUTH_TOKEN, "token");
+        servletRequest.addHeader(UserContext.ORG_ID, "organization-1");
+        servletResponse = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void inboundFilter() throws IOException, ServletException {
+        filter.doFilter(servletRequest, servletResponse, chain);
+    }
+
+    @Benchmark
+    public ClientHttpResponse outboundInterceptor() throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, ORGANIZATION_URI), EMPTY_BODY, execution);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rgederin.benchmarks.licensing;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.gederin.cloud.licensing.model.License;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost and encoded size of the license payloads in the wire formats now available: plain JSON, Smile as
+ * negotiated between the services, and gzipped JSON as sent by the gateway to external clients.
+ * The encoded size of each combination is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<License>> LICENSE_LIST = new TypeReference<List<License>>() {};
+
+    @Param({"json", "smile", "json-gzip"})
+    public String format;
+
+    @Param({"1", "100", "1000"})
+    public int licenses;
+
+    private ObjectMapper objectMapper;
+
+    private boolean gzip;
+
+    private List<License> payload;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "smile".equals(format) ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+        gzip = "json-gzip".equals(format);
+
+        payload = LicenseFixtures.licenses(licenses, Math.max(1, licenses / 20));
+        for (License license : payload) {
+            license.withOrganization(LicenseFixtures.organization(license.getOrganizationId()));
+        }
+
+        encoded = serialize();
+        System.out.printf("%n%s, %d licenses: %d bytes%n", format, licenses, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded == null ? 1024 : encoded.length);
+
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<License> deserialize() throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(encoded)) : new ByteArrayInputStream(encoded)) {
+            return objectMapper.readValue(in, LICENSE_LIST);
+        }
+    }
+}
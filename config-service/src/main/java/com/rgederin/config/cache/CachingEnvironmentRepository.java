@@ -0,0 +1,208 @@
+package com.rgederin.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Serves resolved environments per application, profile and label from memory. The wrapped repository is only
+ * asked on a miss and by {@link #refresh()}, so clients are not slowed down by git fetches. Environments without
+ * property sources, e.g. of an application name the repository does not know, are not cached.
+ */
+public class CachingEnvironmentRepository implements EnvironmentRepository, SearchPathLocator {
+    private static final Logger logger = LoggerFactory.getLogger(CachingEnvironmentRepository.class);
+
+    private static final String METRIC_NAME = "config.resolve";
+
+    private final EnvironmentRepository delegate;
+
+    private final Cache<Key, Environment> cache;
+
+    private final Timer cacheTimer;
+
+    private final Timer repositoryTimer;
+
+    public CachingEnvironmentRepository(EnvironmentRepository delegate, MeterRegistry meterRegistry, long maxEntries) {
+        this.delegate = delegate;
+        // Not tagged by application, the name comes from the client and would let it create any number of timers
+        this.cacheTimer = timer(meterRegistry, "cache");
+        this.repositoryTimer = timer(meterRegistry, "repository");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "config-environments");
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        Key key = new Key(application, profile, label);
+        long start = System.nanoTime();
+        Environment environment = cache.getIfPresent(key);
+
+        if (environment != null) {
+            cacheTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return environment;
+        }
+
+        // Concurrent misses for the same key wait for a single resolve, an empty result is returned uncached
+        Environment[] empty = new Environment[1];
+        environment = cache.get(key, k -> {
+            Environment resolved = resolve(k);
+
+            if (isEmpty(resolved)) {
+                empty[0] = resolved;
+                return null;
+            }
+            return resolved;
+        });
+
+        if (environment == null) {
+            // Another request resolved the key to an empty environment while this one was waiting
+            environment = empty[0] != null ? empty[0] : resolve(key);
+        }
+        repositoryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return environment;
+    }
+
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        if (delegate instanceof SearchPathLocator) {
+            return ((SearchPathLocator) delegate).getLocations(application, profile, label);
+        }
+        return new Locations(application, profile, label, null, new String[0]);
+    }
+
+    /**
+     * Resolves every cached environment again and returns the applications whose properties changed.
+     * Entries that fail to resolve keep their previous value, entries that resolve to an empty environment
+     * are dropped.
+     */
+    public Set<String> refresh() {
+        Set<String> changed = new LinkedHashSet<>();
+
+        for (Key key : new ArrayList<>(cache.asMap().keySet())) {
+            try {
+                Environment current = cache.getIfPresent(key);
+                Environment resolved = resolve(key);
+
+                if (isEmpty(resolved)) {
+                    cache.invalidate(key);
+                } else {
+                    cache.put(key, resolved);
+                }
+
+                if (current == null || isEmpty(resolved) || !sameProperties(current, resolved)) {
+                    changed.addAll(Arrays.asList(StringUtils.commaDelimitedListToStringArray(key.application)));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Cannot refresh {}, keeping the cached environment", key, e);
+            }
+        }
+
+        return changed;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private Environment resolve(Key key) {
+        return delegate.findOne(key.application, key.profile, key.label);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time to resolve the environment of a config client")
+                .tag("source", source)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static boolean isEmpty(Environment environment) {
+        return environment == null || environment.getPropertySources().isEmpty();
+    }
+
+    private static boolean sameProperties(Environment current, Environment resolved) {
+        List<PropertySource> currentSources = current.getPropertySources();
+        List<PropertySource> resolvedSources = resolved.getPropertySources();
+
+        if (currentSources.size() != resolvedSources.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < currentSources.size(); i++) {
+            PropertySource a = currentSources.get(i);
+            PropertySource b = resolvedSources.get(i);
+
+            if (!Objects.equals(a.getName(), b.getName()) || !Objects.equals(a.getSource(), b.getSource())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final class Key {
+        private final String application;
+
+        private final String profile;
+
+        private final String label;
+
+        private Key(String application, String profile, String label) {
+            this.application = application;
+            this.profile = profile;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return application.equals(key.application)
+                    && Objects.equals(profile, key.profile)
+                    && Objects.equals(label, key.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(application, profile, label);
+        }
+
+        @Override
+        public String toString() {
+            return application + '/' + profile + '/' + label;
+        }
+    }
+}
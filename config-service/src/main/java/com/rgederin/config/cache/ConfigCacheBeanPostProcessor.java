@@ -0,0 +1,39 @@
+package com.rgederin.config.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.server.environment.CompositeEnvironmentRepository;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps the primary composite environment repository, the one the config server endpoints use, in a
+ * {@link CachingEnvironmentRepository}. Disabled with config.cache.enabled=false.
+ */
+@Component
+public class ConfigCacheBeanPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final boolean enabled;
+
+    private final long maxEntries;
+
+    public ConfigCacheBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                        @Value("${config.cache.enabled:true}") boolean enabled,
+                                        @Value("${config.cache.max-entries:1000}") long maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof CompositeEnvironmentRepository) {
+            return new CachingEnvironmentRepository((CompositeEnvironmentRepository) bean,
+                    meterRegistry.getObject(), maxEntries);
+        }
+        return bean;
+    }
+}
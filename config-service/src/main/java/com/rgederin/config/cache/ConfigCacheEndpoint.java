@@ -0,0 +1,50 @@
+package com.rgederin.config.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inspects and refreshes the resolved environment cache, e.g. POST /actuator/configcache to pull changes
+ * and notify the affected applications, DELETE /actuator/configcache to drop every entry.
+ */
+@Component
+@Endpoint(id = "configcache")
+public class ConfigCacheEndpoint {
+
+    private final ConfigRefresher refresher;
+
+    public ConfigCacheEndpoint(ConfigRefresher refresher) {
+        this.refresher = refresher;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache() {
+        CachingEnvironmentRepository cache = refresher.cache();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", cache != null);
+        details.put("entries", cache == null ? 0 : cache.size());
+
+        return details;
+    }
+
+    @WriteOperation
+    public Set<String> refresh() {
+        return refresher.refresh();
+    }
+
+    @DeleteOperation
+    public void invalidateAll() {
+        CachingEnvironmentRepository cache = refresher.cache();
+
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.rgederin.config.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tells the running instances of changed applications to reload their configuration by calling their
+ * /actuator/refresh endpoint, which rebinds configuration properties and recreates refresh scoped beans.
+ * A change to the shared "application" files is sent to every client.
+ * <p>
+ * Only the services of config.notify.clients are notified. They must expose the refresh endpoint
+ * (management.endpoints.web.exposure.include), an instance that answers 404 is counted as not-exposed.
+ */
+@Component
+public class ConfigChangeNotifier implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeNotifier.class);
+
+    private static final String SHARED_APPLICATION = "application";
+
+    private final DiscoveryClient discoveryClient;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> clients = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final RestTemplate restTemplate;
+
+    private final Executor executor;
+
+    @Autowired
+    public ConfigChangeNotifier(DiscoveryClient discoveryClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${config.notify.clients:licensingservice,organizationservice}") String[] clients,
+                                @Value("${config.notify.timeout-ms:5000}") int timeoutMs) {
+        this(discoveryClient, meterRegistry, Arrays.asList(clients), restTemplate(timeoutMs),
+                Executors.newFixedThreadPool(4));
+    }
+
+    ConfigChangeNotifier(DiscoveryClient discoveryClient, MeterRegistry meterRegistry, List<String> clients,
+                         RestTemplate restTemplate, Executor executor) {
+        this.discoveryClient = discoveryClient;
+        this.meterRegistry = meterRegistry;
+        this.clients.addAll(clients);
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+    }
+
+    public void notify(Collection<String> applications) {
+        Set<String> serviceIds = new LinkedHashSet<>(applications);
+
+        if (serviceIds.remove(SHARED_APPLICATION)) {
+            serviceIds.addAll(clients);
+        }
+
+        for (String serviceId : serviceIds) {
+            if (!clients.contains(serviceId)) {
+                logger.debug("{} is not in config.notify.clients, not notifying it", serviceId);
+                continue;
+            }
+            for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+                executor.execute(() -> refresh(serviceId, instance));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    private void refresh(String serviceId, ServiceInstance instance) {
+        String url = instance.getUri() + "/actuator/refresh";
+        String outcome = "success";
+
+        try {
+            Object changedKeys = restTemplate.postForObject(url, null, Object.class);
+            logger.info("Refreshed {} at {}, changed keys {}", serviceId, instance.getUri(), changedKeys);
+        } catch (HttpClientErrorException.NotFound e) {
+            outcome = "not-exposed";
+            logger.warn("{} at {} does not expose /actuator/refresh, add refresh to its "
+                    + "management.endpoints.web.exposure.include", serviceId, instance.getUri());
+        } catch (RestClientException e) {
+            outcome = "failure";
+            logger.warn("Cannot refresh {} at {}: {}", serviceId, instance.getUri(), e.getMessage());
+        }
+
+        meterRegistry.counter("config.notifications", "application", serviceId, "outcome", outcome).increment();
+    }
+
+    private static RestTemplate restTemplate(int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+
+        return new RestTemplate(requestFactory);
+    }
+}
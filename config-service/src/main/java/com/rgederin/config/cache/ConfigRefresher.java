@@ -0,0 +1,57 @@
+package com.rgederin.config.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Re-resolves the cached environments on a schedule and on demand (webhook, actuator) and notifies the
+ * applications whose properties changed.
+ */
+@Component
+public class ConfigRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigRefresher.class);
+
+    private final EnvironmentRepository environmentRepository;
+
+    private final ConfigChangeNotifier notifier;
+
+    public ConfigRefresher(EnvironmentRepository environmentRepository, ConfigChangeNotifier notifier) {
+        this.environmentRepository = environmentRepository;
+        this.notifier = notifier;
+    }
+
+    @Scheduled(initialDelayString = "${config.cache.refresh-interval-ms:60000}",
+            fixedDelayString = "${config.cache.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Returns the applications whose properties changed.
+     */
+    public synchronized Set<String> refresh() {
+        if (!(environmentRepository instanceof CachingEnvironmentRepository)) {
+            return Collections.emptySet();
+        }
+
+        Set<String> changed = ((CachingEnvironmentRepository) environmentRepository).refresh();
+
+        if (!changed.isEmpty()) {
+            logger.info("Configuration of {} changed", changed);
+            notifier.notify(changed);
+        }
+        return changed;
+    }
+
+    public CachingEnvironmentRepository cache() {
+        return environmentRepository instanceof CachingEnvironmentRepository
+                ? (CachingEnvironmentRepository) environmentRepository
+                : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.rgederin.config.cache;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * Push webhook of the configuration repository (GitHub, GitLab, ...). The payload is ignored, every cached
+ * environment is re-resolved and only the applications whose properties changed are notified.
+ */
+@RestController
+public class ConfigWebhookController {
+
+    private final ConfigRefresher refresher;
+
+    public ConfigWebhookController(ConfigRefresher refresher) {
+        this.refresher = refresher;
+    }
+
+    @PostMapping("/monitor")
+    public Set<String> onPush() {
+        return refresher.refresh();
+    }
+}
@@ -0,0 +1,151 @@
+package com.rgederin.config.cache;
+
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingEnvironmentRepositoryTest {
+
+    private final Map<String, String> greetings = new HashMap<>();
+
+    private final AtomicInteger resolves = new AtomicInteger();
+
+    private volatile boolean failing;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CachingEnvironmentRepository repository = new CachingEnvironmentRepository(
+            (application, profile, label) -> {
+                resolves.incrementAndGet();
+
+                if (failing) {
+                    throw new IllegalStateException("repository unavailable");
+                }
+                if (!greetings.containsKey(application)) {
+                    return new Environment(application, profile);
+                }
+                return environment(application, profile, greetings.get(application));
+            },
+            meterRegistry, 100);
+
+    @Test
+    public void servesRepeatedRequestsFromCache() {
+        greetings.put("licensingservice", "hello");
+
+        Environment first = repository.findOne("licensingservice", "default", null);
+        Environment second = repository.findOne("licensingservice", "default", null);
+
+        assertSame(first, second);
+        assertEquals(1, resolves.get());
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    public void cachesEachProfileAndLabel() {
+        greetings.put("licensingservice", "hello");
+
+        repository.findOne("licensingservice", "default", null);
+        repository.findOne("licensingservice", "dev", null);
+        repository.findOne("licensingservice", "default", "master");
+
+        assertEquals(3, resolves.get());
+    }
+
+    @Test
+    public void refreshReturnsApplicationsWhosePropertiesChanged() {
+        greetings.put("licensingservice", "hello");
+        greetings.put("organizationservice", "hello");
+        repository.findOne("licensingservice", "default", null);
+        repository.findOne("organizationservice", "default", null);
+
+        greetings.put("licensingservice", "bonjour");
+
+        assertEquals(Collections.singleton("licensingservice"), repository.refresh());
+        assertEquals("bonjour", greeting(repository.findOne("licensingservice", "default", null)));
+    }
+
+    @Test
+    public void refreshReturnsNothingWhenUnchanged() {
+        greetings.put("licensingservice", "hello");
+        repository.findOne("licensingservice", "default", null);
+
+        assertTrue(repository.refresh().isEmpty());
+    }
+
+    @Test
+    public void refreshKeepsCachedEnvironmentWhenResolveFails() {
+        greetings.put("licensingservice", "hello");
+        repository.findOne("licensingservice", "default", null);
+
+        failing = true;
+
+        assertTrue(repository.refresh().isEmpty());
+        assertEquals("hello", greeting(repository.findOne("licensingservice", "default", null)));
+    }
+
+    @Test
+    public void doesNotCacheEmptyEnvironments() {
+        Environment first = repository.findOne("unknownservice", "default", null);
+        repository.findOne("unknownservice", "default", null);
+
+        assertTrue(first.getPropertySources().isEmpty());
+        assertEquals(2, resolves.get());
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    public void refreshDropsEnvironmentsThatBecameEmpty() {
+        greetings.put("licensingservice", "hello");
+        repository.findOne("licensingservice", "default", null);
+
+        greetings.remove("licensingservice");
+
+        assertEquals(Collections.singleton("licensingservice"), repository.refresh());
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    public void timersAreNotTaggedByApplication() {
+        greetings.put("licensingservice", "hello");
+        repository.findOne("licensingservice", "default", null);
+        repository.findOne("licensingservice", "default", null);
+        repository.findOne("unknownservice", "default", null);
+
+        assertEquals(2, meterRegistry.find("config.resolve").timers().size());
+        assertEquals(1, meterRegistry.get("config.resolve").tag("source", "cache").timer().count());
+        assertEquals(2, meterRegistry.get("config.resolve").tag("source", "repository").timer().count());
+    }
+
+    @Test
+    public void invalidateAllResolvesAgain() {
+        greetings.put("licensingservice", "hello");
+        repository.findOne("licensingservice", "default", null);
+
+        repository.invalidateAll();
+        repository.findOne("licensingservice", "default", null);
+
+        assertEquals(2, resolves.get());
+    }
+
+    static Environment environment(String application, String profile, String greeting) {
+        Environment environment = new Environment(application, profile);
+        environment.add(new PropertySource("file:" + application + ".yml",
+                Collections.singletonMap("greeting", greeting)));
+        return environment;
+    }
+
+    private static Object greeting(Environment environment) {
+        return environment.getPropertySources().get(0).getSource().get("greeting");
+    }
+}
@@ -0,0 +1,103 @@
+package com.rgederin.config.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ConfigChangeNotifierTest {
+
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+    private final ConfigChangeNotifier notifier = new ConfigChangeNotifier(discoveryClient, meterRegistry,
+            Arrays.asList("licensingservice", "organizationservice"), restTemplate, Runnable::run);
+
+    @Before
+    public void setUp() {
+        when(discoveryClient.getInstances("licensingservice"))
+                .thenReturn(Collections.singletonList(instance("licensingservice", "licensing-host")));
+        when(discoveryClient.getInstances("organizationservice"))
+                .thenReturn(Collections.singletonList(instance("organizationservice", "organization-host")));
+    }
+
+    @Test
+    public void refreshesInstancesOfChangedClient() {
+        expectRefresh("licensing-host");
+
+        notifier.notify(Collections.singleton("licensingservice"));
+
+        server.verify();
+        assertEquals(1, count("licensingservice", "success"), 0);
+    }
+
+    @Test
+    public void sharedApplicationRefreshesEveryClient() {
+        expectRefresh("licensing-host");
+        expectRefresh("organization-host");
+
+        notifier.notify(Collections.singleton("application"));
+
+        server.verify();
+    }
+
+    @Test
+    public void skipsServicesThatAreNotClients() {
+        notifier.notify(Collections.singleton("zuulservice"));
+
+        server.verify();
+        verify(discoveryClient, never()).getInstances("zuulservice");
+    }
+
+    @Test
+    public void countsClientsWithoutRefreshEndpoint() {
+        server.expect(requestTo("http://licensing-host:8080/actuator/refresh"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        notifier.notify(Collections.singleton("licensingservice"));
+
+        server.verify();
+        assertEquals(1, count("licensingservice", "not-exposed"), 0);
+    }
+
+    private void expectRefresh(String host) {
+        server.expect(requestTo("http://" + host + ":8080/actuator/refresh"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+    }
+
+    private double count(String application, String outcome) {
+        return meterRegistry.counter("config.notifications", "application", application, "outcome", outcome).count();
+    }
+
+    private static ServiceInstance instance(String serviceId, String host) {
+        return new DefaultServiceInstance(serviceId + "-1", serviceId, host, 8080, false);
+    }
+}
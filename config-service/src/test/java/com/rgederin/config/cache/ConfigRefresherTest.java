@@ -0,0 +1,49 @@
+package com.rgederin.config.cache;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ConfigRefresherTest {
+
+    private final Map<String, String> greetings = new HashMap<>();
+
+    private final CachingEnvironmentRepository repository = new CachingEnvironmentRepository(
+            (application, profile, label) -> CachingEnvironmentRepositoryTest.environment(
+                    application, profile, greetings.get(application)),
+            new SimpleMeterRegistry(), 100);
+
+    private final ConfigChangeNotifier notifier = mock(ConfigChangeNotifier.class);
+
+    private final ConfigRefresher refresher = new ConfigRefresher(repository, notifier);
+
+    @Test
+    public void notifiesChangedApplications() {
+        greetings.put("organizationservice", "hello");
+        repository.findOne("organizationservice", "default", null);
+        greetings.put("organizationservice", "bonjour");
+
+        assertEquals(Collections.singleton("organizationservice"), refresher.refresh());
+        verify(notifier).notify(Collections.singleton("organizationservice"));
+    }
+
+    @Test
+    public void doesNotNotifyWithoutChanges() {
+        greetings.put("organizationservice", "hello");
+        repository.findOne("organizationservice", "default", null);
+
+        assertTrue(refresher.refresh().isEmpty());
+        verify(notifier, never()).notify(any());
+    }
+}
@@ -0,0 +1,15 @@
+#!/bin/sh
+
+echo "********************************************************"
+echo "Waiting for the eureka server to start on port $EUREKASERVER_PORT"
+echo "********************************************************"
+while ! `nc -z eurekaserver  $EUREKASERVER_PORT`; do sleep 3; done
+echo "******* Eureka Server has started"
+
+echo "********************************************************"
+echo "Starting Gateway Service"
+echo "********************************************************"
+java -Djava.security.egd=file:/dev/./urandom -Dserver.port=$SERVER_PORT   \
+     -Deureka.client.serviceUrl.defaultZone=$EUREKASERVER_URI   \
+     -Dspring.profiles.active=$PROFILE                          \
+     -jar /usr/local/gatewayservice/@project.build.finalName@-exec.jar
\ No newline at end of file
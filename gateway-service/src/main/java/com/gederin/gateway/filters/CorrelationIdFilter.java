@@ -0,0 +1,75 @@
+package com.gederin.gateway.filters;
+
+import com.rgederin.common.tracing.CorrelationIds;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.publisher.Mono;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Counterpart of the TrackingFilter and ResponseFilter pair of zuul-service: generates a correlation-id when the
+ * caller did not send one, forwards it upstream, returns it in the response and logs the completed request.
+ */
+@Component
+public class CorrelationIdFilter implements GlobalFilter, Ordered {
+    public static final String CORRELATION_ID = "correlation-id";
+
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationIdFilter.class);
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        String correlationId = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID);
+
+        if (correlationId == null) {
+            String generated = CorrelationIds.next();
+            ServerHttpRequest request = exchange.getRequest().mutate().header(CORRELATION_ID, generated).build();
+
+            correlationId = generated;
+            exchange = exchange.mutate().request(request).build();
+            logger.debug("correlation-id generated in correlation filter: {}.", generated);
+        }
+
+        String responseCorrelationId = correlationId;
+        ServerWebExchange tracked = exchange;
+        tracked.getResponse().beforeCommit(() -> {
+            tracked.getResponse().getHeaders().set(CORRELATION_ID, responseCorrelationId);
+            return Mono.empty();
+        });
+
+        return chain.filter(tracked).doFinally(signal -> logCompletion(tracked, responseCorrelationId, start));
+    }
+
+    private static void logCompletion(ServerWebExchange exchange, String correlationId, long start) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        logger.info("Completed request {} {} {} {} {}",
+                kv("route", route == null ? null : route.getId()),
+                kv("uri", exchange.getRequest().getURI().getRawPath()),
+                kv("status", exchange.getResponse().getStatusCode() == null ? null : exchange.getResponse().getStatusCode().value()),
+                kv("latency_ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)),
+                kv(CORRELATION_ID, correlationId));
+    }
+}
@@ -21,4 +21,4 @@ echo "********************************************************"
 java -Djava.security.egd=file:/dev/./urandom -Dserver.port=$SERVER_PORT   \
      -Deureka.client.serviceUrl.defaultZone=$EUREKASERVER_URI             \
      -Dspring.cloud.config.uri=$CONFIGSERVER_URI                          \
-     -Dspring.profiles.active=$PROFILE -jar /usr/local/licensingservice/@project.build.finalName@.jar
\ No newline at end of file
+     -Dspring.profiles.active=$PROFILE -jar /usr/local/licensingservice/@project.build.finalName@-exec.jar
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.gederin.cloud.licensing;
 
+import com.gederin.cloud.licensing.loadbalancer.InstanceLoadTracker;
+import com.gederin.cloud.licensing.loadbalancer.LoadTrackingRequestFactory;
 import com.gederin.cloud.licensing.utils.UserContextInterceptor;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.circuitbreaker.EnableCircuitBreaker;
@@ -9,28 +12,39 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
 import org.springframework.cloud.netflix.hystrix.EnableHystrix;
-import org.springframework.cloud.netflix.hystrix.dashboard.EnableHystrixDashboard;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
 import java.util.List;
 
+import okhttp3.OkHttpClient;
+
 @SpringBootApplication
 @EnableEurekaClient
 @EnableDiscoveryClient
 @EnableFeignClients
 @EnableCircuitBreaker
-@EnableHystrixDashboard
 @EnableHystrix
 public class LicensingServiceApplication {
 
+	/**
+	 * Uses the HTTP/2 client of {@link com.gederin.cloud.licensing.config.Http2Configuration} when it is enabled.
+	 * Every exchange is recorded in the {@link InstanceLoadTracker} that drives instance selection.
+	 */
 	@LoadBalanced
 	@Bean
-	public RestTemplate getRestTemplate(){
-		RestTemplate template = new RestTemplate();
+	public RestTemplate getRestTemplate(ObjectProvider<OkHttpClient> http2Client, InstanceLoadTracker tracker){
+		OkHttpClient okHttpClient = http2Client.getIfAvailable();
+		ClientHttpRequestFactory requestFactory = okHttpClient == null
+				? new SimpleClientHttpRequestFactory()
+				: new OkHttp3ClientHttpRequestFactory(okHttpClient);
+		RestTemplate template = new RestTemplate(new LoadTrackingRequestFactory(requestFactory, tracker));
 		List<ClientHttpRequestInterceptor> interceptors = template.getInterceptors();
 
 		if (interceptors==null){
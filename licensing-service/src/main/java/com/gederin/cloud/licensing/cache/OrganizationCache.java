@@ -0,0 +1,113 @@
+package com.gederin.cloud.licensing.cache;
+
+import com.gederin.cloud.licensing.model.Organization;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of organizations retrieved from organizationservice.
+ * Hit, miss and eviction counters are published as the "organizations" cache metrics.
+ * <p>
+ * Loads are in flight as futures in the cache, so concurrent misses for an id wait for the same load. Loaders
+ * run on the calling thread, which keeps the user context of the request.
+ */
+@Component
+public class OrganizationCache {
+    private static final String CACHE_NAME = "organizations";
+
+    private final AsyncCache<String, Organization> cache;
+
+    public OrganizationCache(MeterRegistry meterRegistry,
+                             @Value("${organization.cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${organization.cache.max-entries:10000}") long maxEntries) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .executor(Runnable::run)
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached organization or loads it. Concurrent misses for the same id
+     * wait for a single invocation of the loader.
+     */
+    public Organization get(String organizationId, Function<String, Organization> loader) {
+        return join(cache.get(organizationId, loader));
+    }
+
+    /**
+     * Returns the cached organization or the load in flight for it, starting one with the loader on a miss.
+     * Concurrent misses for the same id share the returned load, an empty result is not cached.
+     */
+    public CompletableFuture<Organization> getAsync(String organizationId,
+                                                    Function<String, CompletableFuture<Organization>> loader) {
+        return cache.get(organizationId, (id, executor) -> loader.apply(id));
+    }
+
+    /**
+     * Returns the organizations for all given ids, loading the missing ones with a single call to the loader.
+     * Ids already being loaded by another call, single or batch, wait for that load instead.
+     */
+    public Map<String, Organization> getAll(Collection<String> organizationIds,
+                                            Function<Set<String>, List<Organization>> loader) {
+        return join(cache.getAll(organizationIds, missing -> load(missing, loader)));
+    }
+
+    public Organization getIfPresent(String organizationId) {
+        return cache.synchronous().getIfPresent(organizationId);
+    }
+
+    public void put(Organization organization) {
+        cache.synchronous().put(organization.getId(), organization);
+    }
+
+    public void evict(String organizationId) {
+        cache.synchronous().invalidate(organizationId);
+    }
+
+    private static Map<String, Organization> load(Iterable<? extends String> organizationIds,
+                                                  Function<Set<String>, List<Organization>> loader) {
+        Set<String> missing = new LinkedHashSet<>();
+        organizationIds.forEach(missing::add);
+
+        Map<String, Organization> organizations = new HashMap<>();
+        loader.apply(missing).forEach(organization -> organizations.put(organization.getId(), organization));
+
+        return organizations;
+    }
+
+    // Rethrows the loader's exception as the synchronous cache did
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.gederin.cloud.licensing.chaos;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runtime control of {@link FaultInjector}, e.g.
+ * POST /actuator/faults/getLicense {"latencyMs": 2000, "distribution": "EXPONENTIAL", "orgIds": "org-1"}
+ * <p>
+ * Only exposed over HTTP with the chaos profile, e.g. --spring.profiles.active=chaos or default,chaos.
+ */
+@Component
+@Endpoint(id = "faults")
+@RequiredArgsConstructor
+public class FaultInjectionEndpoint {
+
+    private final FaultInjector faultInjector;
+
+    @ReadOperation
+    public Map<String, FaultProfile> faults() {
+        return faultInjector.getProfiles();
+    }
+
+    @WriteOperation
+    public FaultProfile configure(@Selector String endpoint,
+                                  @Nullable Long latencyMs,
+                                  @Nullable FaultProfile.Distribution distribution,
+                                  @Nullable Double errorRate,
+                                  @Nullable String correlationIds,
+                                  @Nullable String orgIds) {
+        FaultProfile profile = new FaultProfile();
+
+        if (latencyMs != null) {
+            profile.setLatencyMs(latencyMs);
+        }
+        if (distribution != null) {
+            profile.setDistribution(distribution);
+        }
+        if (errorRate != null) {
+            profile.setErrorRate(errorRate);
+        }
+        if (correlationIds != null) {
+            profile.setCorrelationIds(StringUtils.commaDelimitedListToSet(correlationIds));
+        }
+        if (orgIds != null) {
+            profile.setOrgIds(StringUtils.commaDelimitedListToSet(orgIds));
+        }
+
+        faultInjector.setProfile(endpoint, profile);
+
+        return profile;
+    }
+
+    @DeleteOperation
+    public void remove(@Selector String endpoint) {
+        faultInjector.removeProfile(endpoint);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        faultInjector.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package com.gederin.cloud.licensing.chaos;
+
+import com.gederin.cloud.licensing.utils.UserContext;
+import com.gederin.cloud.licensing.utils.UserContextHolder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Injects latency and errors into endpoints for resilience drills. Nothing is injected until a profile
+ * is registered for an endpoint, normally through the "faults" actuator endpoint.
+ */
+@Component
+public class FaultInjector {
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjector.class);
+
+    private final Map<String, FaultProfile> profiles = new ConcurrentHashMap<>();
+
+    public void inject(String endpoint) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+
+        FaultProfile profile = profiles.get(endpoint);
+
+        if (profile == null) {
+            return;
+        }
+
+        UserContext context = UserContextHolder.getContext();
+
+        if (!profile.matches(context.getCorrelationId(), context.getOrgId())) {
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latencyMs = profile.sampleLatencyMs(random);
+
+        if (latencyMs > 0) {
+            logger.debug("Injecting {} ms of latency into {}", latencyMs, endpoint);
+            sleep(latencyMs);
+        }
+
+        if (random.nextDouble() < profile.getErrorRate()) {
+            logger.debug("Injecting an error into {}", endpoint);
+            throw new InjectedFaultException(endpoint);
+        }
+    }
+
+    public Map<String, FaultProfile> getProfiles() {
+        return Collections.unmodifiableMap(profiles);
+    }
+
+    public void setProfile(String endpoint, FaultProfile profile) {
+        profiles.put(endpoint, profile);
+    }
+
+    public void removeProfile(String endpoint) {
+        profiles.remove(endpoint);
+    }
+
+    public void clear() {
+        profiles.clear();
+    }
+
+    private void sleep(long latencyMs) {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
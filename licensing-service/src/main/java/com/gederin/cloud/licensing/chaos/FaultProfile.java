@@ -0,0 +1,50 @@
+package com.gederin.cloud.licensing.chaos;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Data;
+
+/**
+ * Faults injected into one endpoint. An empty target set matches every request.
+ */
+@Data
+public class FaultProfile {
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL
+    }
+
+    private long latencyMs;
+
+    private Distribution distribution = Distribution.FIXED;
+
+    private double errorRate;
+
+    private Set<String> correlationIds = Collections.emptySet();
+
+    private Set<String> orgIds = Collections.emptySet();
+
+    public boolean matches(String correlationId, String orgId) {
+        return (correlationIds.isEmpty() || correlationIds.contains(correlationId))
+                && (orgIds.isEmpty() || orgIds.contains(orgId));
+    }
+
+    public long sampleLatencyMs(ThreadLocalRandom random) {
+        if (latencyMs <= 0) {
+            return 0;
+        }
+
+        switch (distribution) {
+            case UNIFORM:
+                return random.nextLong(2 * latencyMs + 1);
+            case EXPONENTIAL:
+                return (long) (-latencyMs * Math.log(1 - random.nextDouble()));
+            default:
+                return latencyMs;
+        }
+    }
+}
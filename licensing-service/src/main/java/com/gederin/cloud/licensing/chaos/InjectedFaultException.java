@@ -0,0 +1,8 @@
+package com.gederin.cloud.licensing.chaos;
+
+public class InjectedFaultException extends RuntimeException {
+
+    public InjectedFaultException(String endpoint) {
+        super("Fault injected into " + endpoint);
+    }
+}
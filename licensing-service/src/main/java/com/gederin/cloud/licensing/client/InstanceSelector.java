@@ -0,0 +1,75 @@
+package com.gederin.cloud.licensing.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the service instance used by {@link OrganizationDiscoveryClient} and tracks outstanding requests per instance.
+ */
+@Component
+public class InstanceSelector {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING
+    }
+
+    private final Strategy strategy;
+
+    private final AtomicInteger position = new AtomicInteger();
+
+    private final ConcurrentMap<URI, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+
+    public InstanceSelector(@Value("${organization.discovery.selection-strategy:ROUND_ROBIN}") Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public ServiceInstance choose(List<ServiceInstance> instances) {
+        int start = Math.floorMod(position.getAndIncrement(), instances.size());
+
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return instances.get(start);
+        }
+
+        // Scan from the round-robin position so that ties are spread across instances
+        ServiceInstance chosen = instances.get(start);
+        int least = outstandingCount(chosen);
+
+        for (int i = 1; i < instances.size() && least > 0; i++) {
+            ServiceInstance candidate = instances.get((start + i) % instances.size());
+            int count = outstandingCount(candidate);
+
+            if (count < least) {
+                chosen = candidate;
+                least = count;
+            }
+        }
+
+        return chosen;
+    }
+
+    public void acquire(ServiceInstance instance) {
+        outstanding.computeIfAbsent(instance.getUri(), uri -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void release(ServiceInstance instance) {
+        AtomicInteger count = outstanding.get(instance.getUri());
+
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    private int outstandingCount(ServiceInstance instance) {
+        AtomicInteger count = outstanding.get(instance.getUri());
+
+        return count == null ? 0 : count.get();
+    }
+}
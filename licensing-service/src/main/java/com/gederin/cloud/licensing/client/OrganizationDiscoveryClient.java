@@ -3,53 +3,98 @@ package com.gederin.cloud.licensing.client;
 import com.gederin.cloud.licensing.model.Organization;
 import com.gederin.cloud.licensing.utils.UserContextInterceptor;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-import lombok.RequiredArgsConstructor;
+import okhttp3.OkHttpClient;
 
 @Component
-@RequiredArgsConstructor
-public class OrganizationDiscoveryClient {
+public class OrganizationDiscoveryClient implements DisposableBean {
+    private final OrganizationInstances organizationInstances;
 
-    private final DiscoveryClient discoveryClient;
+    private final InstanceSelector instanceSelector;
 
-    public Optional<Organization> getOrganization(String organizationId) {
-        RestTemplate restTemplate = new RestTemplate();
+    private final CloseableHttpClient httpClient;
 
-        List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
+    private final RestTemplate restTemplate;
 
-        if (interceptors == null){
-            restTemplate.setInterceptors(Collections.singletonList(new UserContextInterceptor()));
-        }
-        else{
-            interceptors.add(new UserContextInterceptor());
-            restTemplate.setInterceptors(interceptors);
+    public OrganizationDiscoveryClient(OrganizationInstances organizationInstances,
+                                       InstanceSelector instanceSelector,
+                                       ObjectProvider<OkHttpClient> http2Client,
+                                       @Value("${organization.discovery.pool.max-total:200}") int maxTotal,
+                                       @Value("${organization.discovery.pool.max-per-route:50}") int maxPerRoute,
+                                       @Value("${organization.discovery.pool.keep-alive-seconds:30}") long keepAliveSeconds) {
+        this.organizationInstances = organizationInstances;
+        this.instanceSelector = instanceSelector;
+
+        OkHttpClient okHttpClient = http2Client.getIfAvailable();
+
+        if (okHttpClient != null) {
+            this.httpClient = null;
+            this.restTemplate = new RestTemplate(new OkHttp3ClientHttpRequestFactory(okHttpClient));
+        } else {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxTotal);
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+            this.httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> TimeUnit.SECONDS.toMillis(keepAliveSeconds))
+                    .evictIdleConnections(keepAliveSeconds, TimeUnit.SECONDS)
+                    .build();
+            this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
         }
 
-        List<ServiceInstance> instances = discoveryClient.getInstances("organizationservice");
+        this.restTemplate.setInterceptors(Collections.singletonList(new UserContextInterceptor()));
+    }
+
+    public Optional<Organization> getOrganization(String organizationId) {
+        List<ServiceInstance> instances = organizationInstances.get();
 
         if (instances.isEmpty()) {
             return Optional.empty();
         }
 
-        String serviceUri = String.format("%s/v1/organizations/%s", instances.get(0).getUri().toString(), organizationId);
+        ServiceInstance instance = instanceSelector.choose(instances);
+
+        String serviceUri = String.format("%s/v1/organizations/%s", instance.getUri().toString(), organizationId);
 
-        ResponseEntity<Organization> restExchange =
-                restTemplate.exchange(
-                        serviceUri,
-                        HttpMethod.GET,
-                        null, Organization.class, organizationId);
+        instanceSelector.acquire(instance);
 
-        return Optional.of(restExchange.getBody());
+        try {
+            ResponseEntity<Organization> restExchange =
+                    restTemplate.exchange(
+                            serviceUri,
+                            HttpMethod.GET,
+                            WireFormats.ACCEPT_SMILE_OR_JSON_ENTITY, Organization.class, organizationId);
+
+            return Optional.of(restExchange.getBody());
+        } finally {
+            instanceSelector.release(instance);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
     }
-}
\ No newline at end of file
+}
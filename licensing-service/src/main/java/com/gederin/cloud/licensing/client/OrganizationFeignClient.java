@@ -3,16 +3,29 @@ package com.gederin.cloud.licensing.client;
 import com.gederin.cloud.licensing.model.Organization;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import java.util.Collection;
+import java.util.List;
+
 @FeignClient("organizationservice")
 public interface OrganizationFeignClient {
 
     @RequestMapping(
             method= RequestMethod.GET,
             value="/v1/organizations/{organizationId}",
-            consumes="application/json")
+            consumes="application/json",
+            headers=HttpHeaders.ACCEPT + "=" + WireFormats.ACCEPT_SMILE_OR_JSON)
     Organization getOrganization(@PathVariable("organizationId") String organizationId);
+
+    @RequestMapping(
+            method= RequestMethod.POST,
+            value="/v1/organizations/batch",
+            consumes="application/json",
+            headers=HttpHeaders.ACCEPT + "=" + WireFormats.ACCEPT_SMILE_OR_JSON)
+    List<Organization> getOrganizations(@RequestBody Collection<String> organizationIds);
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.gederin.cloud.licensing.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Immutable snapshot of the organizationservice instances. Request paths read the snapshot without
+ * locking, it is rebuilt once the application is ready and whenever the Eureka client publishes a
+ * {@link HeartbeatEvent} after a registry fetch. The version only changes when an instance is added,
+ * removed, or changes its URI or metadata.
+ */
+@Component
+public class OrganizationInstances {
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationInstances.class);
+
+    private static final String SERVICE_ID = "organizationservice";
+
+    private final DiscoveryClient discoveryClient;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile List<ServiceInstance> instances = Collections.emptyList();
+
+    private Map<String, List<Object>> signature = Collections.emptyMap();
+
+    public OrganizationInstances(DiscoveryClient discoveryClient, MeterRegistry meterRegistry) {
+        this.discoveryClient = discoveryClient;
+
+        meterRegistry.gauge("discovery.instances", Tags.of("service", SERVICE_ID), this, i -> i.instances.size());
+        meterRegistry.gauge("discovery.instances.version", Tags.of("service", SERVICE_ID), version);
+    }
+
+    /**
+     * Returns the current snapshot, empty until the first refresh has found instances.
+     */
+    public List<ServiceInstance> get() {
+        return instances;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, HeartbeatEvent.class})
+    public synchronized void refresh() {
+        List<ServiceInstance> fetched = discoveryClient.getInstances(SERVICE_ID);
+        Map<String, List<Object>> fetchedSignature = signature(fetched);
+
+        if (fetchedSignature.equals(signature)) {
+            return;
+        }
+
+        instances = Collections.unmodifiableList(new ArrayList<>(fetched));
+        signature = fetchedSignature;
+
+        logger.info("{} instances changed to {}, snapshot version {}",
+                SERVICE_ID, fetched.size(), version.incrementAndGet());
+    }
+
+    /**
+     * Instance id to URI and metadata, so that the order in which the registry lists instances does not matter.
+     */
+    private static Map<String, List<Object>> signature(List<ServiceInstance> instances) {
+        Map<String, List<Object>> signature = new HashMap<>();
+
+        for (ServiceInstance instance : instances) {
+            String id = instance.getInstanceId() != null ? instance.getInstanceId() : instance.getUri().toString();
+            signature.put(id, Arrays.asList(instance.getUri(), instance.getMetadata()));
+        }
+        return signature;
+    }
+}
@@ -20,7 +20,7 @@ public class OrganizationRestTemplateClient {
                 restTemplate.exchange(
                         "http://organizationservice/v1/organizations/{organizationId}",
                         HttpMethod.GET,
-                        null, Organization.class, organizationId);
+                        WireFormats.ACCEPT_SMILE_OR_JSON_ENTITY, Organization.class, organizationId);
 
         return restExchange.getBody();
     }
@@ -0,0 +1,43 @@
+package com.gederin.cloud.licensing.client;
+
+import com.gederin.cloud.licensing.loadbalancer.InstanceLoadTracker;
+import com.gederin.cloud.licensing.loadbalancer.LoadTrackingExchangeFilter;
+import com.gederin.cloud.licensing.model.Organization;
+import com.gederin.cloud.licensing.utils.UserContext;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "licensing.reactive.enabled", havingValue = "true")
+public class OrganizationWebClient {
+
+    private final WebClient webClient;
+
+    /**
+     * The load tracking filter is added after the load balancer filter, so it sees the chosen instance.
+     */
+    public OrganizationWebClient(WebClient.Builder loadBalancedWebClientBuilder, InstanceLoadTracker tracker) {
+        this.webClient = loadBalancedWebClientBuilder
+                .baseUrl("http://organizationservice")
+                .filter(new LoadTrackingExchangeFilter(tracker))
+                .build();
+    }
+
+    /**
+     * The user context is passed explicitly because the request is sent from an event-loop thread.
+     */
+    public Mono<Organization> getOrganization(String organizationId, UserContext userContext) {
+        return webClient.get()
+                .uri("/v1/organizations/{organizationId}", organizationId)
+                .header(HttpHeaders.ACCEPT, WireFormats.ACCEPT_SMILE_OR_JSON)
+                .header(UserContext.CORRELATION_ID, userContext.getCorrelationId())
+                .header(UserContext.AUTH_TOKEN, userContext.getAuthToken())
+                .retrieve()
+                .bodyToMono(Organization.class);
+    }
+}
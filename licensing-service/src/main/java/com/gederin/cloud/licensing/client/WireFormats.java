@@ -0,0 +1,30 @@
+package com.gederin.cloud.licensing.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Content negotiation of the calls to organizationservice. Smile (binary JSON) is preferred, JSON remains
+ * acceptable so instances without Smile support keep working.
+ */
+public final class WireFormats {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String ACCEPT_SMILE_OR_JSON = SMILE_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
+
+    /**
+     * Request entity without body for RestTemplate exchanges.
+     */
+    public static final HttpEntity<Void> ACCEPT_SMILE_OR_JSON_ENTITY = new HttpEntity<>(acceptSmileOrJson());
+
+    private WireFormats() {
+    }
+
+    private static HttpHeaders acceptSmileOrJson() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, ACCEPT_SMILE_OR_JSON);
+
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+}
@@ -0,0 +1,35 @@
+package com.gederin.cloud.licensing.config;
+
+import com.rgederin.common.http2.Http2Clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+/**
+ * Calls organizationservice over cleartext HTTP/2 (h2c with prior knowledge) from the Feign client, the
+ * load balanced RestTemplate and the discovery client. organizationservice must run with http2.server.enabled.
+ * The reactive WebClient stays on HTTP/1.1, Reactor Netty 0.8 has no HTTP/2 client.
+ */
+@Configuration
+@ConditionalOnProperty(name = "organization.http2.enabled", havingValue = "true")
+public class Http2Configuration {
+    private static final String CLIENT_NAME = "organizationservice";
+
+    @Bean
+    public ConnectionPool http2ConnectionPool(@Value("${organization.http2.max-idle-connections:5}") int maxIdleConnections,
+                                              @Value("${organization.http2.keep-alive-seconds:300}") long keepAliveSeconds,
+                                              MeterRegistry meterRegistry) {
+        return Http2Clients.connectionPool(CLIENT_NAME, maxIdleConnections, keepAliveSeconds, meterRegistry);
+    }
+
+    @Bean
+    public OkHttpClient http2Client(ConnectionPool http2ConnectionPool, MeterRegistry meterRegistry) {
+        return Http2Clients.client(CLIENT_NAME, http2ConnectionPool, meterRegistry);
+    }
+}
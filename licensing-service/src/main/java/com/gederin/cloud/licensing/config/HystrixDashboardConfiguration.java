@@ -0,0 +1,15 @@
+package com.gederin.cloud.licensing.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.netflix.hystrix.dashboard.EnableHystrixDashboard;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves the Hystrix dashboard at /hystrix. Switched off with hystrix.dashboard.enabled=false, the
+ * fast-startup profile does so, the metrics stream of the service stays available either way.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hystrix.dashboard.enabled", havingValue = "true", matchIfMissing = true)
+@EnableHystrixDashboard
+public class HystrixDashboardConfiguration {
+}
@@ -0,0 +1,50 @@
+package com.gederin.cloud.licensing.config;
+
+import com.gederin.cloud.licensing.loadbalancer.InstanceLoadTracker;
+import com.gederin.cloud.licensing.loadbalancer.LoadTrackingFeignClient;
+import com.gederin.cloud.ribbon.OrganizationRibbonConfiguration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.netflix.ribbon.RibbonClient;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
+import org.springframework.cloud.openfeign.ribbon.CachingSpringLoadBalancerFactory;
+import org.springframework.cloud.openfeign.ribbon.LoadBalancerFeignClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import feign.Client;
+import okhttp3.OkHttpClient;
+
+/**
+ * Feeds the latency and in-flight counts of organizationservice calls to the {@link InstanceLoadTracker}.
+ * With organization.loadbalancer.rule=peak-ewma (the default) Ribbon chooses instances with the
+ * {@link com.gederin.cloud.licensing.loadbalancer.PeakEwmaRule}, any other value keeps Ribbon's defaults
+ * and the organizationservice.ribbon.* properties.
+ */
+@Configuration
+public class LoadBalancingConfiguration {
+
+    /**
+     * Replaces the default Feign client, Ribbon still picks the instance. Uses the HTTP/2 client of
+     * {@link Http2Configuration} when it is enabled.
+     */
+    @Bean
+    public Client feignClient(ObjectProvider<OkHttpClient> http2Client,
+                              InstanceLoadTracker tracker,
+                              CachingSpringLoadBalancerFactory cachingFactory,
+                              SpringClientFactory clientFactory) {
+        OkHttpClient okHttpClient = http2Client.getIfAvailable();
+        Client delegate = okHttpClient == null
+                ? new Client.Default(null, null)
+                : new feign.okhttp.OkHttpClient(okHttpClient);
+
+        return new LoadBalancerFeignClient(new LoadTrackingFeignClient(delegate, tracker), cachingFactory, clientFactory);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "organization.loadbalancer.rule", havingValue = "peak-ewma", matchIfMissing = true)
+    @RibbonClient(name = "organizationservice", configuration = OrganizationRibbonConfiguration.class)
+    static class PeakEwmaRibbonConfiguration {
+    }
+}
@@ -0,0 +1,40 @@
+package com.gederin.cloud.licensing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Beans backing the reactive licensing endpoints, enabled with licensing.reactive.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "licensing.reactive.enabled", havingValue = "true")
+public class ReactiveConfiguration {
+
+    @LoadBalanced
+    @Bean
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+
+    /**
+     * JPA calls are blocking, so they run on a dedicated pool sized like the connection pool
+     * instead of on the request thread. The queue is bounded, calls beyond it fail instead of piling up.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${licensing.reactive.jdbc-pool-size:10}") int poolSize,
+                                   @Value("${licensing.reactive.jdbc-queue-capacity:100}") int queueCapacity) {
+        return Schedulers.fromExecutorService(new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity)));
+    }
+}
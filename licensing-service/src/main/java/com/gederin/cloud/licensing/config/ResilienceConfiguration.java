@@ -0,0 +1,46 @@
+package com.gederin.cloud.licensing.config;
+
+import com.gederin.cloud.licensing.resilience.AdaptiveConcurrencyLimiter;
+import com.gederin.cloud.licensing.resilience.HedgedExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ResilienceConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter organizationLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${organization.limiter.initial-limit:20}") int initialLimit,
+            @Value("${organization.limiter.min-limit:1}") int minLimit,
+            @Value("${organization.limiter.max-limit:200}") int maxLimit,
+            @Value("${organization.limiter.latency-threshold-ms:500}") long latencyThresholdMs,
+            @Value("${organization.limiter.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter("organizationservice",
+                initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public HedgedExecutor organizationHedger(
+            MeterRegistry meterRegistry,
+            @Value("${organization.hedging.pool-size:20}") int poolSize,
+            @Value("${organization.hedging.queue-capacity:100}") int queueCapacity,
+            @Value("${organization.hedging.enabled:false}") boolean enabled,
+            @Value("${organization.hedging.min-delay-ms:50}") long minDelayMs,
+            @Value("${organization.hedging.budget-ratio:0.05}") double budgetRatio) {
+        // Bounded queue, HedgedExecutor runs rejected calls on the caller
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+
+        return new HedgedExecutor("organizationservice",
+                enabled, executor, minDelayMs, budgetRatio, meterRegistry);
+    }
+}
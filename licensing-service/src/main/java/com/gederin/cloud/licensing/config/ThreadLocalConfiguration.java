@@ -0,0 +1,44 @@
+package com.gederin.cloud.licensing.config;
+
+import com.gederin.cloud.licensing.utils.ThreadLocalAwareStrategy;
+import com.netflix.hystrix.strategy.HystrixPlugins;
+import com.netflix.hystrix.strategy.concurrency.HystrixConcurrencyStrategy;
+import com.netflix.hystrix.strategy.eventnotifier.HystrixEventNotifier;
+import com.netflix.hystrix.strategy.executionhook.HystrixCommandExecutionHook;
+import com.netflix.hystrix.strategy.metrics.HystrixMetricsPublisher;
+import com.netflix.hystrix.strategy.properties.HystrixPropertiesStrategy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers {@link ThreadLocalAwareStrategy} so that thread-isolated Hystrix commands see the caller's
+ * correlation id and org id. The other Hystrix plugins are preserved across the plugin reset.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ThreadLocalConfiguration {
+
+    private final ObjectProvider<HystrixConcurrencyStrategy> existingConcurrencyStrategy;
+
+    @PostConstruct
+    public void init() {
+        HystrixEventNotifier eventNotifier = HystrixPlugins.getInstance().getEventNotifier();
+        HystrixMetricsPublisher metricsPublisher = HystrixPlugins.getInstance().getMetricsPublisher();
+        HystrixPropertiesStrategy propertiesStrategy = HystrixPlugins.getInstance().getPropertiesStrategy();
+        HystrixCommandExecutionHook commandExecutionHook = HystrixPlugins.getInstance().getCommandExecutionHook();
+
+        HystrixPlugins.reset();
+
+        HystrixPlugins.getInstance().registerConcurrencyStrategy(new ThreadLocalAwareStrategy(
+                existingConcurrencyStrategy.getIfAvailable()));
+        HystrixPlugins.getInstance().registerEventNotifier(eventNotifier);
+        HystrixPlugins.getInstance().registerMetricsPublisher(metricsPublisher);
+        HystrixPlugins.getInstance().registerPropertiesStrategy(propertiesStrategy);
+        HystrixPlugins.getInstance().registerCommandExecutionHook(commandExecutionHook);
+    }
+}
@@ -6,10 +6,14 @@ import com.gederin.cloud.licensing.service.LicenseService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class LicenseServiceController {
+    private static final String NDJSON = "application/x-ndjson";
 
     private final LicenseService licenseService;
 
@@ -31,11 +36,40 @@ public class LicenseServiceController {
         return licenseService.getAllLicenses();
     }
 
+    @GetMapping("/all/page")
+    public List<License> licensesPage(@RequestParam(defaultValue = "") String after,
+                                      @RequestParam(defaultValue = "100") int size) {
+        return licenseService.getLicensesPage(after, size);
+    }
+
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        licenseService.exportLicenses(response.getOutputStream());
+    }
+
+    @GetMapping("/all/enriched")
+    public List<License> licensesWithOrganizationInfo() {
+        return licenseService.getAllLicensesWithOrganizationInfo();
+    }
+
     @GetMapping("/{organizationId}")
     public List<License> licensesByOrganisationId(@PathVariable String organizationId) {
         return licenseService.getLicensesByOrg(organizationId);
     }
 
+    @GetMapping("/{organizationId}/page")
+    public List<License> licensesByOrganisationIdPage(@PathVariable String organizationId,
+                                                      @RequestParam(defaultValue = "") String after,
+                                                      @RequestParam(defaultValue = "100") int size) {
+        return licenseService.getLicensesByOrgPage(organizationId, after, size);
+    }
+
+    @GetMapping("/{organizationId}/enriched")
+    public List<License> licensesByOrganisationIdWithOrganizationInfo(@PathVariable String organizationId) {
+        return licenseService.getLicensesByOrgWithOrganizationInfo(organizationId);
+    }
+
     @GetMapping("license/{licenseId}")
     public License licenseById(@PathVariable String licenseId) {
         return licenseService.getLicense(licenseId);
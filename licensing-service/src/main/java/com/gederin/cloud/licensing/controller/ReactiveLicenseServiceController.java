@@ -0,0 +1,48 @@
+package com.gederin.cloud.licensing.controller;
+
+import com.gederin.cloud.licensing.model.License;
+import com.gederin.cloud.licensing.service.ReactiveLicenseService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Async variant of {@link LicenseServiceController}. Spring MVC handles the returned publishers as async results,
+ * so request threads are released while the response is produced and in-flight enrichments are not bounded
+ * by the servlet or Hystrix pools.
+ */
+@RestController
+@RequestMapping("v2/licenses/")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "licensing.reactive.enabled", havingValue = "true")
+public class ReactiveLicenseServiceController {
+
+    private final ReactiveLicenseService licenseService;
+
+    @GetMapping("/all")
+    public Flux<License> licenses() {
+        return licenseService.getAllLicenses();
+    }
+
+    @GetMapping("/{organizationId}")
+    public Flux<License> licensesByOrganisationId(@PathVariable String organizationId) {
+        return licenseService.getLicensesByOrg(organizationId);
+    }
+
+    @GetMapping("license/{licenseId}")
+    public Mono<License> licenseById(@PathVariable String licenseId) {
+        return licenseService.getLicense(licenseId);
+    }
+
+    @GetMapping("license/{licenseId}/organization")
+    public Mono<License> licenseByIdWithOrganizationInfo(@PathVariable String licenseId) {
+        return licenseService.getLicenseWithOrganizationInfo(licenseId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load of one upstream instance: requests in flight, a peak-sensitive EWMA of the latency and the
+ * consecutive failures that drive outlier ejection.
+ */
+public class InstanceLoad {
+    private final String address;
+
+    private final double decayNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile double ewmaNanos;
+
+    private volatile long stampNanos = System.nanoTime();
+
+    private volatile long ejectedUntilNanos = stampNanos;
+
+    private volatile int ejections;
+
+    InstanceLoad(String address, long decayNanos) {
+        this.address = address;
+        this.decayNanos = decayNanos;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Expected latency of the next request: the EWMA, decayed for the time since the last sample so an
+     * instance that stopped getting traffic is eventually tried again, times the requests already queued on it.
+     */
+    public double cost(long nowNanos) {
+        double ewma = ewmaNanos * Math.exp(-Math.max(0, nowNanos - stampNanos) / decayNanos);
+
+        return ewma * (inflight.get() + 1);
+    }
+
+    public boolean isEjected(long nowNanos) {
+        return nowNanos - ejectedUntilNanos < 0;
+    }
+
+    void start() {
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * Records a completed request. Returns true when the failure makes this instance an outlier.
+     */
+    boolean complete(long latencyNanos, boolean success, int failureThreshold) {
+        inflight.decrementAndGet();
+        observe(latencyNanos);
+
+        if (success) {
+            consecutiveFailures.set(0);
+
+            if (ejections != 0 && !isEjected(System.nanoTime())) {
+                ejections = 0;
+            }
+            return false;
+        }
+
+        return consecutiveFailures.incrementAndGet() == failureThreshold;
+    }
+
+    /**
+     * Ejects the instance for the base duration times the number of ejections without a success in between,
+     * up to maxMultiplier. Returns the ejection time, or 0 when another thread ejected it already.
+     */
+    synchronized long eject(long nowNanos, long baseNanos, int maxMultiplier) {
+        if (consecutiveFailures.get() == 0 || isEjected(nowNanos)) {
+            return 0;
+        }
+
+        ejections = Math.min(ejections + 1, maxMultiplier);
+        long durationNanos = baseNanos * ejections;
+        ejectedUntilNanos = nowNanos + durationNanos;
+        consecutiveFailures.set(0);
+
+        return durationNanos;
+    }
+
+    private synchronized void observe(long latencyNanos) {
+        long now = System.nanoTime();
+
+        // Peak-EWMA: jump to a slower sample immediately, recover towards faster ones gradually
+        if (latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-Math.max(0, now - stampNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        stampNanos = now;
+    }
+}
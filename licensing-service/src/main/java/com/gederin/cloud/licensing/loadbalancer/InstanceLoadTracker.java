@@ -0,0 +1,81 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks the load of every upstream instance the licensing clients call, keyed by host:port. Fed by the
+ * HTTP clients once Ribbon has resolved the instance, read by {@link PeakEwmaRule} to choose the next one.
+ */
+@Component
+public class InstanceLoadTracker {
+    private static final Logger logger = LoggerFactory.getLogger(InstanceLoadTracker.class);
+
+    private final ConcurrentMap<String, InstanceLoad> instances = new ConcurrentHashMap<>();
+
+    private final long decayNanos;
+
+    private final int failureThreshold;
+
+    private final long baseEjectionNanos;
+
+    private final int maxEjectionMultiplier;
+
+    private final Counter ejections;
+
+    public InstanceLoadTracker(MeterRegistry meterRegistry,
+                               @Value("${organization.loadbalancer.decay-ms:10000}") long decayMs,
+                               @Value("${organization.loadbalancer.ejection.consecutive-failures:5}") int failureThreshold,
+                               @Value("${organization.loadbalancer.ejection.base-ms:30000}") long baseEjectionMs,
+                               @Value("${organization.loadbalancer.ejection.max-multiplier:10}") int maxEjectionMultiplier) {
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayMs);
+        this.failureThreshold = failureThreshold;
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(baseEjectionMs);
+        this.maxEjectionMultiplier = maxEjectionMultiplier;
+        this.ejections = meterRegistry.counter("loadbalancer.ejections");
+    }
+
+    public InstanceLoad get(String host, int port) {
+        return instances.computeIfAbsent(host + ':' + port, address -> new InstanceLoad(address, decayNanos));
+    }
+
+    /**
+     * Marks a request to the instance of the uri as started, returns the instance to pass to {@link #complete}.
+     */
+    public InstanceLoad start(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equals(uri.getScheme()) ? 443 : 80;
+        InstanceLoad load = get(uri.getHost(), port);
+        load.start();
+        RequestAttempt.called(load.getAddress());
+
+        return load;
+    }
+
+    public void complete(InstanceLoad load, long startNanos, boolean success) {
+        long now = System.nanoTime();
+
+        if (load.complete(now - startNanos, success, failureThreshold)) {
+            long ejectedNanos = load.eject(now, baseEjectionNanos, maxEjectionMultiplier);
+
+            if (ejectedNanos > 0) {
+                ejections.increment();
+                logger.warn("Ejecting {} for {} ms after {} consecutive failures",
+                        load.getAddress(), TimeUnit.NANOSECONDS.toMillis(ejectedNanos), failureThreshold);
+            }
+        }
+    }
+
+    static boolean isFailure(int status) {
+        return status >= 500;
+    }
+}
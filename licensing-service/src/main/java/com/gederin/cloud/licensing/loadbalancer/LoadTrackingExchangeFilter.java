@@ -0,0 +1,32 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records every WebClient exchange in the {@link InstanceLoadTracker}. Must be registered after the load
+ * balancer filter so the request url already points to the chosen instance.
+ */
+@RequiredArgsConstructor
+public class LoadTrackingExchangeFilter implements ExchangeFilterFunction {
+    private final InstanceLoadTracker tracker;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            InstanceLoad load = tracker.start(request.url());
+            long start = System.nanoTime();
+
+            return next.exchange(request)
+                    .doOnSuccess(response -> tracker.complete(load, start,
+                            response != null && !InstanceLoadTracker.isFailure(response.rawStatusCode())))
+                    .doOnError(e -> tracker.complete(load, start, false))
+                    .doOnCancel(() -> tracker.complete(load, start, false));
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import java.io.IOException;
+import java.net.URI;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records every Feign call in the {@link InstanceLoadTracker}. Wrapped by the load balancing Feign client,
+ * so the request url already points to the chosen instance.
+ */
+@RequiredArgsConstructor
+public class LoadTrackingFeignClient implements Client {
+    private final Client delegate;
+
+    private final InstanceLoadTracker tracker;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        InstanceLoad load = tracker.start(URI.create(request.url()));
+        long start = System.nanoTime();
+        boolean success = false;
+
+        try {
+            Response response = delegate.execute(request, options);
+            success = !InstanceLoadTracker.isFailure(response.status());
+
+            return response;
+        } finally {
+            tracker.complete(load, start, success);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records every RestTemplate exchange in the {@link InstanceLoadTracker}. The load balancer interceptor has
+ * already replaced the service name by the chosen instance when a request is created here.
+ */
+@RequiredArgsConstructor
+public class LoadTrackingRequestFactory implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory delegate;
+
+    private final InstanceLoadTracker tracker;
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new TrackedRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    @RequiredArgsConstructor
+    private class TrackedRequest implements ClientHttpRequest {
+        private final ClientHttpRequest request;
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            InstanceLoad load = tracker.start(request.getURI());
+            long start = System.nanoTime();
+            boolean success = false;
+
+            try {
+                ClientHttpResponse response = request.execute();
+                success = !InstanceLoadTracker.isFailure(response.getRawStatusCode());
+
+                return response;
+            } finally {
+                tracker.complete(load, start, success);
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ribbon rule that picks two random instances and sends the request to the one with the lower peak-EWMA cost
+ * (power of two choices). Instances in the local zone are preferred and ejected outliers are skipped, both
+ * only while enough instances remain, otherwise the rule falls back to the wider set. A hedged
+ * {@link RequestAttempt} never goes to the instance of its primary while another one is reachable.
+ * <p>
+ * Ribbon can also create the rule through its no-arg constructor. Such a rule has no tracker until
+ * {@link #setTracker} is called, and until then it picks among the local zone instances at random.
+ */
+public class PeakEwmaRule extends AbstractLoadBalancerRule {
+    private static final double UNMEASURED_PENALTY = Double.MAX_VALUE / 2;
+
+    private volatile InstanceLoadTracker tracker;
+
+    private volatile String zone = "";
+
+    private volatile double maxEjectedShare = 0.5;
+
+    public PeakEwmaRule() {
+    }
+
+    public PeakEwmaRule(InstanceLoadTracker tracker, String zone, double maxEjectedShare) {
+        this.tracker = tracker;
+        this.zone = zone;
+        this.maxEjectedShare = maxEjectedShare;
+    }
+
+    public void setTracker(InstanceLoadTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public void setMaxEjectedShare(double maxEjectedShare) {
+        this.maxEjectedShare = maxEjectedShare;
+    }
+
+    @Override
+    public void initWithNiwsConfig(IClientConfig clientConfig) {
+    }
+
+    @Override
+    public Server choose(Object key) {
+        ILoadBalancer loadBalancer = getLoadBalancer();
+        List<Server> servers = loadBalancer == null ? null : loadBalancer.getReachableServers();
+
+        if (servers == null || servers.isEmpty()) {
+            return null;
+        }
+
+        servers = withoutExcluded(servers, RequestAttempt.excludedAddress());
+
+        InstanceLoadTracker tracker = this.tracker;
+        long now = System.nanoTime();
+
+        if (tracker == null) {
+            List<Server> local = localZone(servers);
+            return local.get(ThreadLocalRandom.current().nextInt(local.size()));
+        }
+
+        List<Server> candidates = healthy(tracker, servers, now);
+
+        if (candidates.size() < servers.size() * (1 - maxEjectedShare)) {
+            // Too many outliers at once, more likely a shared dependency than bad instances
+            candidates = servers;
+        }
+
+        return leastLoaded(tracker, localZone(candidates), now);
+    }
+
+    private static List<Server> withoutExcluded(List<Server> servers, String excludedAddress) {
+        if (excludedAddress == null || servers.size() < 2) {
+            return servers;
+        }
+
+        List<Server> remaining = new ArrayList<>(servers.size());
+
+        for (Server server : servers) {
+            if (!excludedAddress.equals(server.getHostPort())) {
+                remaining.add(server);
+            }
+        }
+        return remaining.isEmpty() ? servers : remaining;
+    }
+
+    private static List<Server> healthy(InstanceLoadTracker tracker, List<Server> servers, long now) {
+        List<Server> healthy = new ArrayList<>(servers.size());
+
+        for (Server server : servers) {
+            if (!tracker.get(server.getHost(), server.getPort()).isEjected(now)) {
+                healthy.add(server);
+            }
+        }
+        return healthy;
+    }
+
+    private List<Server> localZone(List<Server> servers) {
+        String zone = this.zone;
+
+        if (zone == null || zone.isEmpty()) {
+            return servers;
+        }
+
+        List<Server> local = new ArrayList<>(servers.size());
+
+        for (Server server : servers) {
+            if (zone.equalsIgnoreCase(server.getZone())) {
+                local.add(server);
+            }
+        }
+        return local.isEmpty() ? servers : local;
+    }
+
+    private static Server leastLoaded(InstanceLoadTracker tracker, List<Server> servers, long now) {
+        int size = servers.size();
+
+        if (size == 1) {
+            return servers.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        Server a = servers.get(first);
+        Server b = servers.get(second);
+
+        return cost(tracker, a, now) <= cost(tracker, b, now) ? a : b;
+    }
+
+    private static double cost(InstanceLoadTracker tracker, Server server, long now) {
+        InstanceLoad load = tracker.get(server.getHost(), server.getPort());
+        double cost = load.cost(now);
+
+        // No latency sample yet: send one request, then wait for its response before sending more
+        if (cost == 0 && load.getInflight() > 0) {
+            return UNMEASURED_PENALTY;
+        }
+        return cost;
+    }
+}
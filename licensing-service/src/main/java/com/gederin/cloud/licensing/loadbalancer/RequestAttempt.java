@@ -0,0 +1,61 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * One attempt of a request that may be sent more than once, e.g. a hedged copy. Records the instance the
+ * attempt called, and {@link PeakEwmaRule} steers an attempt away from the instance it must avoid, so a
+ * hedged copy does not go to the instance that is already slow on the primary.
+ */
+public final class RequestAttempt {
+    private static final ThreadLocal<RequestAttempt> CURRENT = new ThreadLocal<>();
+
+    private final String excludedAddress;
+
+    private volatile String address;
+
+    /**
+     * @param excludedAddress host:port of the instance to avoid, null for none
+     */
+    public RequestAttempt(String excludedAddress) {
+        this.excludedAddress = excludedAddress;
+    }
+
+    /**
+     * Runs the call with this attempt as the current one of the calling thread.
+     */
+    public <T> T call(Callable<T> call) throws Exception {
+        RequestAttempt previous = CURRENT.get();
+        CURRENT.set(this);
+
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * host:port of the instance this attempt called last, null until it reached an instance.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    static String excludedAddress() {
+        RequestAttempt attempt = CURRENT.get();
+        return attempt == null ? null : attempt.excludedAddress;
+    }
+
+    static void called(String address) {
+        RequestAttempt attempt = CURRENT.get();
+
+        if (attempt != null) {
+            attempt.address = address;
+        }
+    }
+}
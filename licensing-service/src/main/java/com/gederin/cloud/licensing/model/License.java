@@ -3,26 +3,28 @@ package com.gederin.cloud.licensing.model;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
 import lombok.Data;
 
 @Entity
-@Table(name = "licenses")
+@Table(name = "licenses",
+        indexes = @Index(name = "idx_licenses_organization_id", columnList = "organization_id, license_id"))
 @Data
 public class License {
     @Id
-    @Column(name = "license_id", nullable = false)
+    @Column(name = "license_id", nullable = false, length = 100)
     private String licenseId;
 
-    @Column(name = "organization_id", nullable = false)
+    @Column(name = "organization_id", nullable = false, length = 100)
     private String organizationId;
 
-    @Column(name = "product_name", nullable = false)
+    @Column(name = "product_name", nullable = false, length = 100)
     private String productName;
 
-    @Column(name = "license_type", nullable = false)
+    @Column(name = "license_type", nullable = false, length = 50)
     private String licenseType;
 
     @Column(name = "license_max", nullable = false)
@@ -31,7 +33,7 @@ public class License {
     @Column(name = "license_allocated", nullable = false)
     private Integer licenseAllocated;
 
-    @Column(name = "comment")
+    @Column(name = "comment", length = 100)
     private String comment;
 
     @Transient
@@ -100,4 +102,12 @@ public class License {
         this.setContactEmail(contactEmail);
         return this;
     }
+
+    public License withOrganization(Organization organization){
+        return this
+                .withOrganizationName(organization.getName())
+                .withContactName(organization.getContactName())
+                .withContactEmail(organization.getContactEmail())
+                .withContactPhone(organization.getContactPhone());
+    }
 }
\ No newline at end of file
@@ -3,14 +3,38 @@ package com.gederin.cloud.licensing.repository;
 
 import com.gederin.cloud.licensing.model.License;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface LicenseRepository extends CrudRepository<License,String>  {
     List<License> findByOrganizationId(String organizationId);
 
     License findByLicenseId(String licenseId);
-}
\ No newline at end of file
+
+    /**
+     * Forward-only cursor over all licenses, must be consumed inside a transaction and closed.
+     * The fetch size only bounds memory on MySQL with the useCursorFetch connection property, set in bootstrap.yaml.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select l from License l")
+    Stream<License> streamAll();
+
+    List<License> findByLicenseIdGreaterThanOrderByLicenseIdAsc(String licenseId, Pageable pageable);
+
+    List<License> findByOrganizationIdAndLicenseIdGreaterThanOrderByLicenseIdAsc(
+            String organizationId, String licenseId, Pageable pageable);
+}
@@ -0,0 +1,101 @@
+package com.gederin.cloud.licensing.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Limits the number of concurrent calls to a remote dependency using additive-increase/multiplicative-decrease.
+ * Every call that completes under the latency threshold while the limit is in use grows the limit by one,
+ * every failed or slow call shrinks it by the backoff ratio. Calls beyond the limit are rejected immediately.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter rejected;
+
+    private final Timer latency;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdMs, double backoffRatio, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(initialLimit);
+
+        Gauge.builder("resilience.limiter.limit", limit, AtomicInteger::get).tag("name", name).register(meterRegistry);
+        Gauge.builder("resilience.limiter.inflight", inFlight, AtomicInteger::get).tag("name", name).register(meterRegistry);
+        this.rejected = meterRegistry.counter("resilience.limiter.rejected", "name", name);
+        this.latency = meterRegistry.timer("resilience.limiter.latency", "name", name);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!tryAcquire()) {
+            rejected.increment();
+            throw new ConcurrencyLimitExceededException(name, limit.get());
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+
+        try {
+            T result = call.get();
+            success = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+
+            latency.record(elapsed, TimeUnit.NANOSECONDS);
+            onSample(elapsed, success, inFlight.getAndDecrement());
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void onSample(long elapsedNanos, boolean success, int inFlightAtCompletion) {
+        if (!success || elapsedNanos > latencyThresholdNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        } else if (inFlightAtCompletion * 2 >= limit.get()) {
+            // Only grow when the limit is actually being used, otherwise it drifts up to the maximum while idle
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+}
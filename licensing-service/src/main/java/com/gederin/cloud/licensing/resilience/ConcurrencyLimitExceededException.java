@@ -0,0 +1,8 @@
+package com.gederin.cloud.licensing.resilience;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String name, int limit) {
+        super(String.format("Concurrency limit of %d reached for %s", limit, name));
+    }
+}
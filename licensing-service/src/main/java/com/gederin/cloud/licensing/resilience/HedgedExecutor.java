@@ -0,0 +1,198 @@
+package com.gederin.cloud.licensing.resilience;
+
+import com.gederin.cloud.licensing.loadbalancer.RequestAttempt;
+import com.gederin.cloud.licensing.utils.DelegatingUserContextCallable;
+import com.gederin.cloud.licensing.utils.UserContextHolder;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends a second, hedged copy of a call when the first has not completed within the observed p95 latency,
+ * and returns whichever copy succeeds first. Each call earns {@code budgetRatio} of a hedge, so hedges add at
+ * most that fraction of extra load. The hedged copy avoids the instance the primary went to, see
+ * {@link RequestAttempt}.
+ * <p>
+ * Calls run on a bounded pool. When its queue is full the call runs on the caller instead, and no hedge is
+ * sent while calls are queued, since a queued hedge would only start after the primary.
+ */
+public class HedgedExecutor {
+    private static final long TOKEN = 1000;
+
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final boolean enabled;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LatencyTracker latencyTracker;
+
+    private final long minDelayMs;
+
+    private final long tokensPerCall;
+
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+
+    private final Counter hedged;
+
+    private final Counter hedgeWon;
+
+    private final Counter budgetExhausted;
+
+    private final Counter saturated;
+
+    public HedgedExecutor(String name, boolean enabled, ThreadPoolExecutor executor,
+                          long minDelayMs, double budgetRatio, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.executor = executor;
+        this.latencyTracker = new LatencyTracker(1024, 64, 0.95);
+        this.minDelayMs = minDelayMs;
+        this.tokensPerCall = (long) (budgetRatio * TOKEN);
+        this.hedged = meterRegistry.counter("resilience.hedge.issued", "name", name);
+        this.hedgeWon = meterRegistry.counter("resilience.hedge.won", "name", name);
+        this.budgetExhausted = meterRegistry.counter("resilience.hedge.budget-exhausted", "name", name);
+        this.saturated = meterRegistry.counter("resilience.hedge.saturated", "name", name);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        tokens.updateAndGet(current -> Math.min(MAX_TOKENS, current + tokensPerCall));
+
+        long start = System.currentTimeMillis();
+        RequestAttempt primaryAttempt = new RequestAttempt(null);
+        CompletableFuture<T> primary;
+
+        try {
+            primary = submit(call, primaryAttempt);
+        } catch (RejectedExecutionException e) {
+            saturated.increment();
+            return record(start, call.get());
+        }
+
+        try {
+            try {
+                return record(start, primary.get(hedgeDelayMs(), TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                if (!executor.getQueue().isEmpty()) {
+                    saturated.increment();
+                    return record(start, primary.get());
+                }
+                if (!tryAcquireToken()) {
+                    budgetExhausted.increment();
+                    return record(start, primary.get());
+                }
+            }
+
+            CompletableFuture<T> hedge;
+            try {
+                hedge = submit(call, new RequestAttempt(primaryAttempt.getAddress()));
+            } catch (RejectedExecutionException e) {
+                tokens.addAndGet(TOKEN);
+                saturated.increment();
+                return record(start, primary.get());
+            }
+            hedged.increment();
+
+            T result = firstSuccessful(primary, hedge).get();
+
+            if (hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.getNow(null) == result) {
+                hedgeWon.increment();
+            }
+            primary.cancel(true);
+            hedge.cancel(true);
+
+            return record(start, result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for a hedged call", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private long hedgeDelayMs() {
+        return Math.max(minDelayMs, latencyTracker.getPercentileMs());
+    }
+
+    private boolean tryAcquireToken() {
+        while (true) {
+            long current = tokens.get();
+
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private <T> T record(long start, T result) {
+        latencyTracker.record(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call, RequestAttempt attempt) {
+        DelegatingUserContextCallable<T> callable =
+                new DelegatingUserContextCallable<>(call::get, UserContextHolder.getContext());
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        Future<?> task = executor.submit(() -> {
+            try {
+                future.complete(attempt.call(callable));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Completes with the first successful result, or with the first failure once both calls have failed.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        for (CompletableFuture<T> future : Arrays.asList(first, second)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.gederin.cloud.licensing.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent latency samples in a fixed ring buffer. Percentiles are recomputed every
+ * {@code recomputeInterval} samples so that reading them on the request path is a volatile read.
+ */
+public class LatencyTracker {
+    private final AtomicLongArray samples;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final int recomputeInterval;
+
+    private final double percentile;
+
+    private volatile long cachedPercentileMs;
+
+    public LatencyTracker(int capacity, int recomputeInterval, double percentile) {
+        this.samples = new AtomicLongArray(capacity);
+        this.recomputeInterval = recomputeInterval;
+        this.percentile = percentile;
+    }
+
+    public void record(long latencyMs) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), latencyMs);
+
+        if ((index + 1) % recomputeInterval == 0) {
+            cachedPercentileMs = computePercentile();
+        }
+    }
+
+    /**
+     * Returns the tracked percentile, or 0 until the first {@code recomputeInterval} samples are recorded.
+     */
+    public long getPercentileMs() {
+        return cachedPercentileMs;
+    }
+
+    private long computePercentile() {
+        int size = (int) Math.min(count.get(), samples.length());
+        long[] snapshot = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+
+        return snapshot[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)];
+    }
+}
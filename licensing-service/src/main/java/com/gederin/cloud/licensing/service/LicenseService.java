@@ -1,25 +1,59 @@
 
 package com.gederin.cloud.licensing.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gederin.cloud.licensing.cache.OrganizationCache;
+import com.gederin.cloud.licensing.chaos.FaultInjector;
 import com.gederin.cloud.licensing.client.OrganizationDiscoveryClient;
 import com.gederin.cloud.licensing.client.OrganizationFeignClient;
 import com.gederin.cloud.licensing.client.OrganizationRestTemplateClient;
 import com.gederin.cloud.licensing.model.License;
 import com.gederin.cloud.licensing.model.Organization;
 import com.gederin.cloud.licensing.repository.LicenseRepository;
+import com.gederin.cloud.licensing.resilience.AdaptiveConcurrencyLimiter;
+import com.gederin.cloud.licensing.resilience.HedgedExecutor;
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixProperty;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class LicenseService {
+    private static final Logger logger = LoggerFactory.getLogger(LicenseService.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
+    /**
+     * Local DB reads run on the caller thread behind a semaphore bulkhead instead of paying a thread handoff.
+     * The limit can be overridden per command with hystrix.command.<method>.execution.isolation.semaphore.*
+     */
+    private static final String SEMAPHORE = "SEMAPHORE";
+
+    private static final String DB_MAX_CONCURRENT_REQUESTS = "40";
+
     private final LicenseRepository licenseRepository;
 
     private final OrganizationDiscoveryClient discoveryClient;
@@ -28,16 +62,32 @@ public class LicenseService {
 
     private final OrganizationFeignClient feignClient;
 
-    @HystrixCommand
+    private final OrganizationCache organizationCache;
+
+    private final AdaptiveConcurrencyLimiter organizationLimiter;
+
+    private final HedgedExecutor organizationHedger;
+
+    private final FaultInjector faultInjector;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    @HystrixCommand(commandProperties = {
+            @HystrixProperty(name = "execution.isolation.strategy", value = SEMAPHORE),
+            @HystrixProperty(name = "execution.isolation.semaphore.maxConcurrentRequests", value = DB_MAX_CONCURRENT_REQUESTS)})
     public List<License> getAllLicenses() {
-        randomlyRunLong();
+        faultInjector.inject("getAllLicenses");
 
         return (List<License>) licenseRepository.findAll();
     }
 
-    @HystrixCommand(fallbackMethod = "buildFallbackLicense")
+    @HystrixCommand(fallbackMethod = "buildFallbackLicense", commandProperties = {
+            @HystrixProperty(name = "execution.isolation.strategy", value = SEMAPHORE),
+            @HystrixProperty(name = "execution.isolation.semaphore.maxConcurrentRequests", value = DB_MAX_CONCURRENT_REQUESTS)})
     public License getLicense(String licenseId) {
-        randomlyRunLong();
+        faultInjector.inject("getLicense");
 
         return licenseRepository.findById(licenseId).get();
     }
@@ -46,43 +96,110 @@ public class LicenseService {
             name = "execution.isolation.thread.timeoutInMilliseconds",
             value = "15000"))
     public License getLicenseWithOrganizationInfo(String licenseId, String clientType) {
-        randomlyRunLong();
+        faultInjector.inject("getLicenseWithOrganizationInfo");
 
         License license = licenseRepository.findById(licenseId).get();
 
         Organization organization = retrieveOrgInfo(license.getOrganizationId(), clientType);
 
-        return license
-                .withOrganizationName(organization.getName())
-                .withContactName(organization.getContactName())
-                .withContactEmail(organization.getContactEmail())
-                .withContactPhone(organization.getContactPhone());
+        return license.withOrganization(organization);
     }
 
-    @HystrixCommand(
-            threadPoolKey = "licensesByOrgThreadPool",
-            threadPoolProperties = {
-                    @HystrixProperty(name = "coreSize", value = "30"),
-                    @HystrixProperty(name = "maxQueueSize", value = "10")})
+    @HystrixCommand(commandProperties = @HystrixProperty(
+            name = "execution.isolation.thread.timeoutInMilliseconds",
+            value = "15000"))
+    public List<License> getAllLicensesWithOrganizationInfo() {
+        faultInjector.inject("getAllLicensesWithOrganizationInfo");
+
+        return withOrganizationInfo((List<License>) licenseRepository.findAll());
+    }
+
+    @HystrixCommand(commandProperties = @HystrixProperty(
+            name = "execution.isolation.thread.timeoutInMilliseconds",
+            value = "15000"))
+    public List<License> getLicensesByOrgWithOrganizationInfo(String organizationId) {
+        faultInjector.inject("getLicensesByOrgWithOrganizationInfo");
+
+        return withOrganizationInfo(licenseRepository.findByOrganizationId(organizationId));
+    }
+
+    @HystrixCommand(commandProperties = {
+            @HystrixProperty(name = "execution.isolation.strategy", value = SEMAPHORE),
+            @HystrixProperty(name = "execution.isolation.semaphore.maxConcurrentRequests", value = DB_MAX_CONCURRENT_REQUESTS)})
     public List<License> getLicensesByOrg(String organizationId) {
+        faultInjector.inject("getLicensesByOrg");
+
         return licenseRepository.findByOrganizationId(organizationId);
     }
 
+    /**
+     * Returns up to {@code size} licenses ordered by id, starting after {@code afterLicenseId}.
+     */
+    public List<License> getLicensesPage(String afterLicenseId, int size) {
+        return licenseRepository.findByLicenseIdGreaterThanOrderByLicenseIdAsc(
+                afterLicenseId, PageRequest.of(0, pageSize(size)));
+    }
+
+    public List<License> getLicensesByOrgPage(String organizationId, String afterLicenseId, int size) {
+        return licenseRepository.findByOrganizationIdAndLicenseIdGreaterThanOrderByLicenseIdAsc(
+                organizationId, afterLicenseId, PageRequest.of(0, pageSize(size)));
+    }
+
+    /**
+     * Writes every license as newline-delimited JSON. Rows are read through a cursor and detached
+     * once written, so memory use does not grow with the size of the table. The response is flushed
+     * every {@value #EXPORT_FLUSH_ROWS} rows instead of after each one.
+     */
+    @Transactional(readOnly = true)
+    public void exportLicenses(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<License> licenses = licenseRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+            // Records are separated by the newline written after each of them, not by the default space
+            generator.setRootValueSeparator(null);
+
+            Iterator<License> iterator = licenses.iterator();
+            long rows = 0;
+
+            while (iterator.hasNext()) {
+                License license = iterator.next();
+
+                // NDJSON terminates every record, including the last one
+                writer.writeValue(generator, license);
+                generator.writeRaw('\n');
+                entityManager.detach(license);
+
+                if (++rows % EXPORT_FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     private Organization retrieveOrgInfo(String organizationId, String clientType) {
+        return organizationCache.get(organizationId,
+                id -> organizationLimiter.execute(() -> fetchOrgInfo(id, clientType)));
+    }
+
+    private Organization fetchOrgInfo(String organizationId, String clientType) {
         Organization organization;
 
+        logger.debug("Retrieving organization {} with the {} client", organizationId, clientType);
+
         switch (clientType) {
             case "feign":
-                System.out.println("I am using the feign client");
-                organization = feignClient.getOrganization(organizationId);
+                organization = organizationHedger.execute(() -> feignClient.getOrganization(organizationId));
                 break;
             case "rest":
-                System.out.println("I am using the rest client");
-                organization = restTemplateClient.getOrganization(organizationId);
+                organization = organizationHedger.execute(() -> restTemplateClient.getOrganization(organizationId));
                 break;
             case "discovery":
-                System.out.println("using the discovery client");
-
                 organization = discoveryClient.getOrganization(organizationId).get();
                 break;
             default:
@@ -92,25 +209,36 @@ public class LicenseService {
         return organization;
     }
 
-    private License buildFallbackLicense(String licenseId) {
-        return new License()
-                .withId(licenseId)
-                .withProductName("Sorry no licensing information currently available");
-    }
+    /**
+     * Enriches all licenses using a single batch call to organizationservice for the distinct organization ids.
+     */
+    private List<License> withOrganizationInfo(List<License> licenses) {
+        Set<String> organizationIds = licenses.stream()
+                .map(License::getOrganizationId)
+                .collect(Collectors.toSet());
+
+        if (organizationIds.isEmpty()) {
+            return licenses;
+        }
+
+        Map<String, Organization> organizations =
+                organizationCache.getAll(organizationIds,
+                        missing -> organizationLimiter.execute(() -> feignClient.getOrganizations(missing)));
 
-    private void randomlyRunLong() {
-        Random rand = new Random();
+        licenses.forEach(license -> {
+            Organization organization = organizations.get(license.getOrganizationId());
 
-        int randomNum = rand.nextInt(3 - 1 + 1) + 1;
+            if (organization != null) {
+                license.withOrganization(organization);
+            }
+        });
 
-        if (randomNum == 3) sleep();
+        return licenses;
     }
 
-    private void sleep() {
-        try {
-            Thread.sleep(11000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+    private License buildFallbackLicense(String licenseId) {
+        return new License()
+                .withId(licenseId)
+                .withProductName("Sorry no licensing information currently available");
     }
 }
\ No newline at end of file
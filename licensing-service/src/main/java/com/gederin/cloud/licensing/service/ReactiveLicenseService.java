@@ -0,0 +1,96 @@
+package com.gederin.cloud.licensing.service;
+
+import com.gederin.cloud.licensing.cache.OrganizationCache;
+import com.gederin.cloud.licensing.client.OrganizationWebClient;
+import com.gederin.cloud.licensing.model.License;
+import com.gederin.cloud.licensing.model.Organization;
+import com.gederin.cloud.licensing.repository.LicenseRepository;
+import com.gederin.cloud.licensing.utils.UserContext;
+import com.gederin.cloud.licensing.utils.UserContextHolder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Async counterpart of {@link LicenseService}, served by Spring MVC async request handling on the servlet stack.
+ * Repository reads are offloaded to the bounded JDBC scheduler and organization lookups go through
+ * {@link OrganizationWebClient}, so no servlet thread waits on the database or organizationservice.
+ */
+@Service
+@ConditionalOnProperty(name = "licensing.reactive.enabled", havingValue = "true")
+public class ReactiveLicenseService {
+    private final LicenseRepository licenseRepository;
+
+    private final OrganizationWebClient organizationClient;
+
+    private final OrganizationCache organizationCache;
+
+    private final Scheduler jdbcScheduler;
+
+    private final Duration organizationTimeout;
+
+    public ReactiveLicenseService(LicenseRepository licenseRepository,
+                                  OrganizationWebClient organizationClient,
+                                  OrganizationCache organizationCache,
+                                  Scheduler jdbcScheduler,
+                                  @Value("${licensing.reactive.organization-timeout-ms:15000}") long organizationTimeoutMs) {
+        this.licenseRepository = licenseRepository;
+        this.organizationClient = organizationClient;
+        this.organizationCache = organizationCache;
+        this.jdbcScheduler = jdbcScheduler;
+        this.organizationTimeout = Duration.ofMillis(organizationTimeoutMs);
+    }
+
+    public Flux<License> getAllLicenses() {
+        return onJdbcScheduler(() -> (List<License>) licenseRepository.findAll())
+                .flatMapIterable(licenses -> licenses);
+    }
+
+    public Mono<License> getLicense(String licenseId) {
+        return onJdbcScheduler(() -> licenseRepository.findById(licenseId).orElse(null))
+                .switchIfEmpty(Mono.error(
+                        new ResponseStatusException(HttpStatus.NOT_FOUND, "License " + licenseId + " not found")));
+    }
+
+    public Flux<License> getLicensesByOrg(String organizationId) {
+        return onJdbcScheduler(() -> licenseRepository.findByOrganizationId(organizationId))
+                .flatMapIterable(licenses -> licenses);
+    }
+
+    public Mono<License> getLicenseWithOrganizationInfo(String licenseId) {
+        UserContext userContext = UserContextHolder.getContext();
+
+        return getLicense(licenseId)
+                .flatMap(license -> retrieveOrgInfo(license.getOrganizationId(), userContext)
+                        .map(license::withOrganization)
+                        .defaultIfEmpty(license));
+    }
+
+    private Mono<Organization> retrieveOrgInfo(String organizationId, UserContext userContext) {
+        // Concurrent misses share one call, a dependent future keeps a cancelled request from cancelling it
+        return Mono.defer(() -> Mono.fromFuture(organizationCache.getAsync(organizationId,
+                id -> organizationClient.getOrganization(id, userContext)
+                        .timeout(organizationTimeout)
+                        .toFuture())
+                .thenApply(organization -> organization)));
+    }
+
+    private <T> Mono<T> onJdbcScheduler(Callable<T> call) {
+        return Mono.fromCallable(call)
+                .subscribeOn(jdbcScheduler)
+                .onErrorMap(RejectedExecutionException.class,
+                        e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "JDBC scheduler is saturated", e));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gederin.cloud.licensing.utils;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs a callable with the {@link UserContext} and logging MDC of the thread that created it.
+ */
+public final class DelegatingUserContextCallable<V> implements Callable<V> {
+    private final Callable<V> delegate;
+
+    private final UserContext userContext;
+
+    private final Map<String, String> mdc;
+
+    public DelegatingUserContextCallable(Callable<V> delegate, UserContext userContext) {
+        this.delegate = delegate;
+        this.userContext = userContext;
+        this.mdc = MDC.getCopyOfContextMap();
+    }
+
+    @Override
+    public V call() throws Exception {
+        UserContext previous = UserContextHolder.getContext();
+        Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        UserContextHolder.setContext(userContext);
+        setMdc(mdc);
+
+        try {
+            return delegate.call();
+        } finally {
+            UserContextHolder.setContext(previous);
+            setMdc(previousMdc);
+        }
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+}
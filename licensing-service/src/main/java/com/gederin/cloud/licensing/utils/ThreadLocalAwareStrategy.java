@@ -0,0 +1,67 @@
+package com.gederin.cloud.licensing.utils;
+
+import com.netflix.hystrix.HystrixThreadPoolKey;
+import com.netflix.hystrix.HystrixThreadPoolProperties;
+import com.netflix.hystrix.strategy.concurrency.HystrixConcurrencyStrategy;
+import com.netflix.hystrix.strategy.concurrency.HystrixRequestVariable;
+import com.netflix.hystrix.strategy.concurrency.HystrixRequestVariableLifecycle;
+import com.netflix.hystrix.strategy.properties.HystrixProperty;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propagates the {@link UserContext} into Hystrix thread pools, delegating everything else to an
+ * already registered strategy if there is one.
+ */
+public class ThreadLocalAwareStrategy extends HystrixConcurrencyStrategy {
+    private final HystrixConcurrencyStrategy existingConcurrencyStrategy;
+
+    public ThreadLocalAwareStrategy(HystrixConcurrencyStrategy existingConcurrencyStrategy) {
+        this.existingConcurrencyStrategy = existingConcurrencyStrategy;
+    }
+
+    @Override
+    public BlockingQueue<Runnable> getBlockingQueue(int maxQueueSize) {
+        return existingConcurrencyStrategy != null
+                ? existingConcurrencyStrategy.getBlockingQueue(maxQueueSize)
+                : super.getBlockingQueue(maxQueueSize);
+    }
+
+    @Override
+    public <T> HystrixRequestVariable<T> getRequestVariable(HystrixRequestVariableLifecycle<T> rv) {
+        return existingConcurrencyStrategy != null
+                ? existingConcurrencyStrategy.getRequestVariable(rv)
+                : super.getRequestVariable(rv);
+    }
+
+    @Override
+    public ThreadPoolExecutor getThreadPool(HystrixThreadPoolKey threadPoolKey,
+                                            HystrixProperty<Integer> corePoolSize,
+                                            HystrixProperty<Integer> maximumPoolSize,
+                                            HystrixProperty<Integer> keepAliveTime, TimeUnit unit,
+                                            BlockingQueue<Runnable> workQueue) {
+        return existingConcurrencyStrategy != null
+                ? existingConcurrencyStrategy.getThreadPool(threadPoolKey, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue)
+                : super.getThreadPool(threadPoolKey, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+    }
+
+    @Override
+    public ThreadPoolExecutor getThreadPool(HystrixThreadPoolKey threadPoolKey,
+                                            HystrixThreadPoolProperties threadPoolProperties) {
+        return existingConcurrencyStrategy != null
+                ? existingConcurrencyStrategy.getThreadPool(threadPoolKey, threadPoolProperties)
+                : super.getThreadPool(threadPoolKey, threadPoolProperties);
+    }
+
+    @Override
+    public <T> Callable<T> wrapCallable(Callable<T> callable) {
+        Callable<T> wrapped = new DelegatingUserContextCallable<>(callable, UserContextHolder.getContext());
+
+        return existingConcurrencyStrategy != null
+                ? existingConcurrencyStrategy.wrapCallable(wrapped)
+                : super.wrapCallable(wrapped);
+    }
+}
@@ -19,11 +19,12 @@ public class UserContextInterceptor implements ClientHttpRequestInterceptor {
             throws IOException {
 
         HttpHeaders headers = request.getHeaders();
+        UserContext userContext = UserContextHolder.getContext();
 
-        headers.add(UserContext.CORRELATION_ID, UserContextHolder.getContext().getCorrelationId());
-        headers.add(UserContext.AUTH_TOKEN, UserContextHolder.getContext().getAuthToken());
+        headers.add(UserContext.CORRELATION_ID, userContext.getCorrelationId());
+        headers.add(UserContext.AUTH_TOKEN, userContext.getAuthToken());
 
-        System.out.println(headers);
+        logger.debug("Propagating user context to {}", request.getURI());
         return execution.execute(request, body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.gederin.cloud.ribbon;
+
+import com.gederin.cloud.licensing.loadbalancer.InstanceLoadTracker;
+import com.gederin.cloud.licensing.loadbalancer.PeakEwmaRule;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.IPing;
+import com.netflix.loadbalancer.IRule;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerList;
+import com.netflix.loadbalancer.ServerListFilter;
+import com.netflix.loadbalancer.ServerListUpdater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ribbon client configuration of organizationservice. Kept outside the component-scanned licensing package,
+ * otherwise these beans would replace the defaults of every Ribbon client.
+ */
+@Configuration
+public class OrganizationRibbonConfiguration {
+
+    @Bean
+    public IRule ribbonRule(InstanceLoadTracker tracker,
+                            @Value("${eureka.instance.metadataMap.zone:}") String zone,
+                            @Value("${organization.loadbalancer.ejection.max-share:0.5}") double maxEjectedShare) {
+        return new PeakEwmaRule(tracker, zone, maxEjectedShare);
+    }
+
+    /**
+     * Not zone-aware: ZoneAwareLoadBalancer picks a zone itself and copies the rule per zone, which would
+     * override the zone preference and the spill-over of the rule.
+     */
+    @Bean
+    public ILoadBalancer ribbonLoadBalancer(IClientConfig config, ServerList<Server> serverList,
+                                            ServerListFilter<Server> serverListFilter, IRule rule, IPing ping,
+                                            ServerListUpdater serverListUpdater) {
+        return new DynamicServerListLoadBalancer<>(config, rule, ping, serverList, serverListFilter,
+                serverListUpdater);
+    }
+
+    /**
+     * Passes every instance to the rule, which prefers the local zone itself but can spill over when the
+     * local instances are ejected. The default filter would hide the other zones.
+     */
+    @Bean
+    public ServerListFilter<Server> ribbonServerListFilter() {
+        return servers -> servers;
+    }
+}
@@ -0,0 +1,121 @@
+package com.gederin.cloud.licensing.cache;
+
+import com.gederin.cloud.licensing.model.Organization;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OrganizationCacheTest {
+    private static final List<String> IDS = Arrays.asList("org-1", "org-2");
+
+    private final OrganizationCache cache = new OrganizationCache(new SimpleMeterRegistry(), 300, 100);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentBatchMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Map<String, Organization>> first = executor.submit(() -> cache.getAll(IDS, ids -> {
+            loading.countDown();
+            await(release);
+            return organizations(ids);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<Map<String, Organization>> second = executor.submit(() -> cache.getAll(IDS, this::organizations));
+        release.countDown();
+
+        assertEquals(IDS.size(), first.get(5, TimeUnit.SECONDS).size());
+        assertEquals(IDS.size(), second.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void loadsOnlyMissingIds() {
+        cache.put(organization("org-1"));
+
+        Map<String, Organization> organizations = cache.getAll(IDS, ids -> {
+            assertEquals(1, ids.size());
+            return organizations(ids);
+        });
+
+        assertEquals(IDS.size(), organizations.size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void concurrentAsyncMissesShareOneLoad() {
+        CompletableFuture<Organization> load = new CompletableFuture<>();
+
+        CompletableFuture<Organization> first = cache.getAsync("org-1", id -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<Organization> second = cache.getAsync("org-1", id -> {
+            loads.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        Organization organization = organization("org-1");
+        load.complete(organization);
+
+        assertSame(organization, first.join());
+        assertSame(organization, second.join());
+        assertSame(organization, cache.getIfPresent("org-1"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rethrowsLoaderException() {
+        cache.getAll(IDS, ids -> {
+            throw new IllegalStateException("organizationservice unavailable");
+        });
+    }
+
+    private List<Organization> organizations(Set<String> ids) {
+        loads.incrementAndGet();
+        return ids.stream().map(OrganizationCacheTest::organization).collect(Collectors.toList());
+    }
+
+    private static Organization organization(String id) {
+        Organization organization = new Organization();
+        organization.setId(id);
+        return organization;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
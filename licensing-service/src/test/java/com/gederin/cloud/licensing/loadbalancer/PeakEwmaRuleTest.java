@@ -0,0 +1,152 @@
+package com.gederin.cloud.licensing.loadbalancer;
+
+import com.gederin.cloud.ribbon.OrganizationRibbonConfiguration;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerList;
+import com.netflix.loadbalancer.StaticServerList;
+import com.netflix.loadbalancer.ZoneAwareLoadBalancer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.netflix.ribbon.PropertiesFactory;
+import org.springframework.cloud.netflix.ribbon.RibbonClientSpecification;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Boots the organizationservice Ribbon context with two instances in the local zone and two in another zone.
+ */
+public class PeakEwmaRuleTest {
+    private static final String CLIENT = "organizationservice";
+
+    private static final int PICKS = 200;
+
+    private AnnotationConfigApplicationContext parent;
+
+    private SpringClientFactory clientFactory;
+
+    private InstanceLoadTracker tracker;
+
+    private ILoadBalancer loadBalancer;
+
+    @Before
+    public void setUp() {
+        tracker = new InstanceLoadTracker(new SimpleMeterRegistry(), 10000, 5, 30000, 10);
+
+        parent = new AnnotationConfigApplicationContext();
+        parent.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Collections.singletonMap("eureka.instance.metadataMap.zone", "zone-a")));
+        parent.registerBean(PropertiesFactory.class);
+        parent.registerBean(InstanceLoadTracker.class, () -> tracker);
+        parent.refresh();
+
+        clientFactory = new SpringClientFactory();
+        clientFactory.setApplicationContext(parent);
+        clientFactory.setConfigurations(Collections.singletonList(new RibbonClientSpecification(CLIENT,
+                new Class<?>[]{OrganizationRibbonConfiguration.class, StaticServers.class})));
+
+        loadBalancer = clientFactory.getLoadBalancer(CLIENT);
+    }
+
+    @After
+    public void tearDown() {
+        clientFactory.destroy();
+        parent.close();
+    }
+
+    @Test
+    public void usesRuleWithoutZoneAwareLoadBalancer() {
+        assertFalse(loadBalancer instanceof ZoneAwareLoadBalancer);
+    }
+
+    @Test
+    public void prefersLocalZone() {
+        assertEquals(set("a1:8080", "a2:8080"), choose());
+    }
+
+    @Test
+    public void skipsEjectedInstances() {
+        eject("a1");
+
+        assertEquals(set("a2:8080"), choose());
+    }
+
+    @Test
+    public void spillsToOtherZoneWhenLocalInstancesAreEjected() {
+        eject("a1");
+        eject("a2");
+
+        assertEquals(set("b1:8080", "b2:8080"), choose());
+    }
+
+    @Test
+    public void ignoresEjectionWhenMostInstancesAreEjected() {
+        eject("a1");
+        eject("a2");
+        eject("b1");
+
+        assertEquals(set("a1:8080", "a2:8080"), choose());
+    }
+
+    @Test
+    public void hedgedAttemptAvoidsInstanceOfPrimary() throws Exception {
+        Set<String> chosen = new RequestAttempt("a1:8080").call(this::choose);
+
+        assertEquals(set("a2:8080"), chosen);
+    }
+
+    private Set<String> choose() {
+        Set<String> chosen = new HashSet<>();
+
+        for (int i = 0; i < PICKS; i++) {
+            chosen.add(loadBalancer.chooseServer(null).getHostPort());
+        }
+        return chosen;
+    }
+
+    private void eject(String host) {
+        URI uri = URI.create("http://" + host + ":8080/");
+
+        for (int i = 0; i < 5; i++) {
+            InstanceLoad load = tracker.start(uri);
+            tracker.complete(load, System.nanoTime(), false);
+        }
+    }
+
+    private static Set<String> set(String... values) {
+        Set<String> set = new HashSet<>();
+        Collections.addAll(set, values);
+        return set;
+    }
+
+    @Configuration
+    static class StaticServers {
+
+        @Bean
+        public ServerList<Server> ribbonServerList() {
+            return new StaticServerList<>(server("a1", "zone-a"), server("a2", "zone-a"),
+                    server("b1", "zone-b"), server("b2", "zone-b"));
+        }
+
+        private static Server server(String host, String zone) {
+            Server server = new Server(host, 8080);
+            server.setZone(zone);
+            return server;
+        }
+    }
+}
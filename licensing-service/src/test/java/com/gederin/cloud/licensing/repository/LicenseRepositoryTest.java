@@ -0,0 +1,76 @@
+package com.gederin.cloud.licensing.repository;
+
+import com.gederin.cloud.licensing.model.License;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs against the schema of data-h2.sql, seeded with enough licenses for H2 to prefer an index.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.cloud.bootstrap.enabled=false",
+        "spring.datasource.platform=h2",
+        "spring.jpa.hibernate.ddl-auto=none"})
+public class LicenseRepositoryTest {
+    private static final int ORGANIZATIONS = 100;
+
+    private static final int LICENSES_PER_ORGANIZATION = 20;
+
+    @Configuration
+    @EntityScan(basePackageClasses = License.class)
+    @EnableJpaRepositories(basePackageClasses = LicenseRepository.class)
+    static class RepositoryConfiguration {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LicenseRepository licenseRepository;
+
+    @Before
+    public void seed() {
+        List<Object[]> rows = new ArrayList<>();
+
+        for (int organization = 0; organization < ORGANIZATIONS; organization++) {
+            for (int license = 0; license < LICENSES_PER_ORGANIZATION; license++) {
+                rows.add(new Object[]{"license-" + organization + "-" + license, "organization-" + organization});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO licenses (license_id, organization_id, license_type, product_name, "
+                + "license_max, license_allocated) VALUES (?, ?, 'user', 'product', 10, 1)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    public void organizationLookupUsesIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM licenses WHERE organization_id = ?", String.class, "organization-7");
+
+        assertTrue(plan, plan.toUpperCase().contains("IDX_LICENSES_ORGANIZATION_ID"));
+    }
+
+    @Test
+    public void findsLicensesOfOrganization() {
+        List<License> licenses = licenseRepository.findByOrganizationId("organization-7");
+
+        assertEquals(LICENSES_PER_ORGANIZATION, licenses.size());
+    }
+}
@@ -0,0 +1,101 @@
+package com.rgederin.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class-data sharing archives of the services (JDK 11+). A training run of the unpacked jar records the classes
+ * it loads and exits once the application is ready, the class list is then dumped to {@code app.jsa} next to
+ * the unpacked jar. Run with the services' jars by the appcds profile of this module, and used by
+ * {@link StartupBenchmark} for the variants with class-data-sharing=true.
+ */
+public final class ClassDataSharing {
+    private static final int MIN_JAVA_VERSION = 11;
+
+    private static final long TIMEOUT_MINUTES = 5;
+
+    private static final List<String> TRAINING_ARGS = Collections.unmodifiableList(Arrays.asList(
+            "--startup.exit-after-start=true",
+            "--startup.warmup.iterations=0",
+            "--eureka.client.enabled=false"));
+
+    private ClassDataSharing() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load();
+        File servicesDir = new File(settings.get("loadtest.services-dir"));
+        File outputDir = new File(settings.get("loadtest.appcds.dir"));
+
+        if (!isSupported()) {
+            throw new IllegalStateException("Class-data sharing archives of application classes need JDK "
+                    + MIN_JAVA_VERSION + " or later, running on " + System.getProperty("java.version"));
+        }
+
+        for (String module : settings.getList("loadtest.appcds.modules")) {
+            UnpackedJar app = UnpackedJar.extract(new File(servicesDir, module + ".jar"), new File(outputDir, module));
+            File archive = createArchive(app, settings.getList("loadtest.appcds.training-args"),
+                    new File(outputDir, module + ".log"));
+
+            System.out.printf("%s: java -Xshare:auto %s %s%n",
+                    module, String.join(" ", jvmArgs(archive)), String.join(" ", app.launchArgs()));
+        }
+    }
+
+    public static boolean isSupported() {
+        String version = System.getProperty("java.specification.version");
+        int major = Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+
+        return major >= MIN_JAVA_VERSION;
+    }
+
+    /**
+     * Creates {@code app.jsa} in the directory of the unpacked jar, the output of both runs goes to the log.
+     */
+    public static File createArchive(UnpackedJar app, List<String> trainingArgs, File log)
+            throws IOException, InterruptedException {
+        File classList = new File(app.getDir(), "classes.lst");
+        File archive = new File(app.getDir(), "app.jsa");
+
+        List<String> training = new ArrayList<>();
+        training.add(ServiceLauncher.javaExecutable());
+        training.add("-XX:DumpLoadedClassList=" + classList.getPath());
+        training.addAll(app.launchArgs());
+        training.addAll(trainingArgs);
+        training.addAll(TRAINING_ARGS);
+        run("Training", training, log);
+
+        run("Archive dump", Arrays.asList(ServiceLauncher.javaExecutable(),
+                "-Xshare:dump",
+                "-XX:SharedClassListFile=" + classList.getPath(),
+                "-XX:SharedArchiveFile=" + archive.getPath(),
+                "-cp", app.classpath()), log);
+
+        return archive;
+    }
+
+    public static List<String> jvmArgs(File archive) {
+        return Collections.singletonList("-XX:SharedArchiveFile=" + archive.getPath());
+    }
+
+    private static void run(String step, List<String> command, File log) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+
+        if (!process.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(step + " did not finish, see " + log);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(step + " exited with status " + process.exitValue()
+                    + ", see " + log);
+        }
+    }
+}
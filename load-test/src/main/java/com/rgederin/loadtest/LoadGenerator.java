@@ -0,0 +1,119 @@
+package com.rgederin.loadtest;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the traffic mix to the gateway from {@code concurrency} client threads.
+ *
+ * <p>With a positive target rate every client sends on a fixed schedule and latency is measured from the
+ * scheduled send time, so a stalled server is not hidden by clients waiting for it (coordinated omission).
+ * Otherwise every client sends its next request as soon as the previous one completes.
+ */
+public class LoadGenerator {
+    private final String baseUrl;
+
+    private final TrafficMix mix;
+
+    private final int concurrency;
+
+    private final double targetRate;
+
+    private final Map<String, RouteStats> stats = new LinkedHashMap<>();
+
+    private volatile boolean running;
+
+    public LoadGenerator(String baseUrl, TrafficMix mix, int concurrency, double targetRate) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.concurrency = concurrency;
+        this.targetRate = targetRate;
+
+        for (TrafficMix.Request request : mix.getRequests()) {
+            stats.put(request.getName(), new RouteStats(request.getName()));
+        }
+    }
+
+    public Map<String, RouteStats> run(long warmupSeconds, long durationSeconds) throws InterruptedException, IOException {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(5000)
+                .setSocketTimeout(60000)
+                .build();
+
+        try (CloseableHttpClient client = HttpClients.custom()
+                .setMaxConnTotal(concurrency)
+                .setMaxConnPerRoute(concurrency)
+                .setDefaultRequestConfig(requestConfig)
+                .build()) {
+
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            CountDownLatch finished = new CountDownLatch(concurrency);
+            running = true;
+
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    try {
+                        work(client);
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            System.out.printf("Warming up for %d s%n", warmupSeconds);
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            stats.values().forEach(RouteStats::reset);
+
+            System.out.printf("Measuring for %d s%n", durationSeconds);
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            stats.values().forEach(RouteStats::finish);
+
+            running = false;
+            finished.await();
+            workers.shutdown();
+        }
+
+        return stats;
+    }
+
+    private void work(CloseableHttpClient client) {
+        long intervalNanos = targetRate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / targetRate) : 0;
+        long scheduled = System.nanoTime();
+
+        while (running) {
+            if (intervalNanos > 0) {
+                scheduled += intervalNanos;
+                long wait = scheduled - System.nanoTime();
+
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                scheduled = System.nanoTime();
+            }
+
+            TrafficMix.Request request = mix.next();
+            RouteStats routeStats = stats.get(request.getName());
+
+            try (CloseableHttpResponse response = client.execute(new HttpGet(baseUrl + request.getPath()))) {
+                EntityUtils.consume(response.getEntity());
+                routeStats.record(System.nanoTime() - scheduled, response.getStatusLine().getStatusCode());
+            } catch (IOException e) {
+                routeStats.recordError(System.nanoTime() - scheduled);
+            }
+        }
+    }
+}
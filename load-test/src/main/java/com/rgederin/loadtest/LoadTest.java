@@ -0,0 +1,140 @@
+package com.rgederin.loadtest;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots eureka-service, config-service (native profile), organization-service, licensing-service and the
+ * gateways listed in loadtest.gateways (zuul-service and/or gateway-service) on localhost, drives the traffic mix
+ * through the routes of each gateway in turn and prints throughput and latency percentiles per request.
+ * See loadtest.properties for the available settings.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load();
+        File workDir = new File(settings.get("loadtest.work-dir"));
+
+        TrafficMix mix = new TrafficMix(settings.getMix());
+
+        try (ServiceLauncher launcher = new ServiceLauncher(
+                new File(settings.get("loadtest.services-dir")),
+                workDir,
+                settings.getList("loadtest.service-jvm-args"),
+                settings.getInt("loadtest.startup-timeout-seconds") * 1000L)) {
+
+            List<String> gateways = settings.getList("loadtest.gateways");
+
+            if (settings.getBoolean("loadtest.launch")) {
+                launchStack(settings, launcher, workDir, gateways);
+            }
+
+            for (String gateway : gateways) {
+                LoadGenerator generator = new LoadGenerator(
+                        settings.get("loadtest." + gateway + ".url"),
+                        mix,
+                        settings.getInt("loadtest.concurrency"),
+                        Double.parseDouble(settings.get("loadtest.target-rate")));
+
+                long duration = settings.getInt("loadtest.duration-seconds");
+                Map<String, RouteStats> stats = generator.run(settings.getInt("loadtest.warmup-seconds"), duration);
+
+                report(gateway, stats, duration, new File(workDir, "histograms/" + gateway));
+            }
+        }
+    }
+
+    static void launchStack(LoadTestSettings settings, ServiceLauncher launcher, File workDir, List<String> gateways)
+            throws Exception {
+        launchInfrastructure(settings, launcher, workDir);
+
+        String eurekaUrl = eurekaUrl(settings);
+        String configUrl = configUrl(settings);
+
+        String organizationPort = settings.get("loadtest.organization-port");
+        launcher.start("organization", "organisation-service",
+                "http://localhost:" + organizationPort + "/v1/organizations/echo",
+                serviceArgs(organizationPort, eurekaUrl, configUrl));
+
+        String licensingPort = settings.get("loadtest.licensing-port");
+        launcher.start("licensing", "licensing-service",
+                "http://localhost:" + licensingPort + "/actuator/health",
+                serviceArgs(licensingPort, eurekaUrl, configUrl));
+
+        for (String gateway : gateways) {
+            String gatewayUrl = settings.get("loadtest." + gateway + ".url");
+            List<String> args = new ArrayList<>(Arrays.asList(
+                    serviceArgs(settings.get("loadtest." + gateway + ".port"), eurekaUrl, configUrl)));
+            args.addAll(settings.getList("loadtest." + gateway + ".args"));
+
+            launcher.start(gateway, settings.get("loadtest." + gateway + ".module"), gatewayUrl + "/actuator/health",
+                    args.toArray(new String[0]));
+
+            // Routes only work once the gateway has fetched both services from the registry
+            launcher.awaitReady(gateway + " organization route", null,
+                    gatewayUrl + "/api/organization/v1/organizations/echo");
+            launcher.awaitReady(gateway + " licensing route", null, gatewayUrl + "/api/licensing/v1/licenses/all");
+        }
+    }
+
+    /**
+     * Starts eureka-service and config-service, the latter serving the config files of this module natively.
+     */
+    static void launchInfrastructure(LoadTestSettings settings, ServiceLauncher launcher, File workDir)
+            throws Exception {
+        String eurekaPort = settings.get("loadtest.eureka-port");
+        String configPort = settings.get("loadtest.config-port");
+        String eurekaUrl = eurekaUrl(settings);
+
+        Path configDir = ServiceLauncher.extractConfig(workDir, "licensingservice.yml", "organizationservice.yml");
+
+        launcher.start("eureka", "eureka-service", eurekaUrl + "apps",
+                "--server.port=" + eurekaPort,
+                "--eureka.client.serviceUrl.defaultZone=" + eurekaUrl,
+                "--eureka.server.responseCacheUpdateIntervalMs=1000");
+
+        launcher.start("config", "config-service", configUrl(settings) + "/licensingservice/default",
+                "--server.port=" + configPort,
+                "--spring.profiles.active=native",
+                "--spring.cloud.config.server.native.search-locations=" + configDir.toUri(),
+                "--eureka.client.serviceUrl.defaultZone=" + eurekaUrl);
+    }
+
+    static String eurekaUrl(LoadTestSettings settings) {
+        return "http://localhost:" + settings.get("loadtest.eureka-port") + "/eureka/";
+    }
+
+    static String configUrl(LoadTestSettings settings) {
+        return "http://localhost:" + settings.get("loadtest.config-port");
+    }
+
+    static String[] serviceArgs(String port, String eurekaUrl, String configUrl) {
+        return new String[]{
+                "--server.port=" + port,
+                "--spring.cloud.config.uri=" + configUrl,
+                "--eureka.client.serviceUrl.defaultZone=" + eurekaUrl,
+                "--eureka.instance.hostname=localhost",
+                "--eureka.instance.preferIpAddress=false",
+                "--eureka.instance.leaseRenewalIntervalInSeconds=5",
+                "--eureka.client.registryFetchIntervalSeconds=5"};
+    }
+
+    private static void report(String gateway, Map<String, RouteStats> stats, long seconds, File histogramsDir)
+            throws Exception {
+        if (!histogramsDir.isDirectory() && !histogramsDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + histogramsDir);
+        }
+
+        System.out.printf("%n%s%n", gateway);
+        RouteStats.printHeader(System.out);
+        for (RouteStats routeStats : stats.values()) {
+            routeStats.printSummary(System.out, seconds);
+            routeStats.writeDistribution(histogramsDir);
+        }
+        System.out.printf("%nFull latency distributions written to %s%n", histogramsDir);
+    }
+}
@@ -0,0 +1,86 @@
+package com.rgederin.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Settings from loadtest.properties, overridden by system properties of the same name.
+ */
+public class LoadTestSettings {
+    private static final String MIX_PREFIX = "loadtest.mix.";
+
+    private final Properties properties = new Properties();
+
+    public static LoadTestSettings load() {
+        LoadTestSettings settings = new LoadTestSettings();
+
+        try (InputStream defaults = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            settings.properties.load(defaults);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        settings.properties.putAll(System.getProperties());
+
+        return settings;
+    }
+
+    public String get(String name) {
+        String value = properties.getProperty(name);
+
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting " + name);
+        }
+        return value.trim();
+    }
+
+    public int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+
+    public boolean getBoolean(String name) {
+        return Boolean.parseBoolean(get(name));
+    }
+
+    public List<String> getList(String name) {
+        String value = properties.getProperty(name, "").trim();
+
+        if (value.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> values = new ArrayList<>();
+        for (String item : value.split("\\s+")) {
+            values.add(item);
+        }
+        return values;
+    }
+
+    /**
+     * Requests with a positive weight from loadtest.mix.<name>.path / .weight.
+     */
+    public List<TrafficMix.Request> getMix() {
+        TreeSet<String> names = new TreeSet<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(MIX_PREFIX) && key.endsWith(".path")) {
+                names.add(key.substring(MIX_PREFIX.length(), key.length() - ".path".length()));
+            }
+        }
+
+        List<TrafficMix.Request> requests = new ArrayList<>();
+        for (String name : names) {
+            int weight = getInt(MIX_PREFIX + name + ".weight");
+
+            if (weight > 0) {
+                requests.add(new TrafficMix.Request(name, get(MIX_PREFIX + name + ".path"), weight));
+            }
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,285 @@
+package com.rgederin.loadtest;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Boots a local eureka-service cluster (profile "cluster"), registers loadtest.registry.instances simulated
+ * instances spread over the nodes and lets every instance heartbeat at its renewal interval. Prints how long
+ * the registrations took to replicate to every node and the heartbeat latency per node.
+ *
+ * <p>Node i listens on 127.0.0.i so Eureka does not mistake its peers for itself. Linux routes all of 127/8 to
+ * loopback, other systems need the addresses aliased first.
+ */
+public class RegistryLoadTest {
+    private static final Pattern INSTANCE_ID = Pattern.compile("\"instanceId\":\"loadtest-");
+
+    private final List<String> nodeUrls;
+
+    private final int instances;
+
+    private final int apps;
+
+    private final int renewalIntervalSeconds;
+
+    private final int clients;
+
+    private final List<RouteStats> stats = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public RegistryLoadTest(List<String> nodeUrls, int instances, int apps, int renewalIntervalSeconds, int clients) {
+        this.nodeUrls = nodeUrls;
+        this.instances = instances;
+        this.apps = apps;
+        this.renewalIntervalSeconds = renewalIntervalSeconds;
+        this.clients = clients;
+
+        for (int node = 0; node < nodeUrls.size(); node++) {
+            stats.add(new RouteStats("heartbeat-node" + (node + 1)));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load();
+        File workDir = new File(settings.get("loadtest.work-dir"));
+        int nodes = settings.getInt("loadtest.registry.nodes");
+        int firstPort = settings.getInt("loadtest.registry.first-port");
+
+        List<String> nodeUrls = new ArrayList<>();
+        for (int node = 1; node <= nodes; node++) {
+            nodeUrls.add("http://127.0.0." + node + ":" + (firstPort + node - 1) + "/eureka/");
+        }
+
+        try (ServiceLauncher launcher = new ServiceLauncher(
+                new File(settings.get("loadtest.services-dir")),
+                workDir,
+                settings.getList("loadtest.service-jvm-args"),
+                settings.getInt("loadtest.startup-timeout-seconds") * 1000L)) {
+
+            String peers = String.join(",", nodeUrls);
+            for (int node = 1; node <= nodes; node++) {
+                launcher.start("eureka-node" + node, "eureka-service", nodeUrls.get(node - 1) + "apps",
+                        "--spring.profiles.active=cluster",
+                        "--server.port=" + (firstPort + node - 1),
+                        "--eureka.instance.hostname=127.0.0." + node,
+                        "--eureka.client.serviceUrl.defaultZone=" + peers,
+                        "--eureka.server.responseCacheUpdateIntervalMs=1000",
+                        "--eureka.server.enableSelfPreservation=false");
+            }
+
+            RegistryLoadTest test = new RegistryLoadTest(nodeUrls,
+                    settings.getInt("loadtest.registry.instances"),
+                    settings.getInt("loadtest.registry.apps"),
+                    settings.getInt("loadtest.registry.renewal-interval-seconds"),
+                    settings.getInt("loadtest.registry.clients"));
+
+            long duration = settings.getInt("loadtest.duration-seconds");
+            test.run(settings.getInt("loadtest.warmup-seconds"), duration);
+            test.report(duration, new File(workDir, "histograms/registry"));
+        }
+    }
+
+    public void run(long warmupSeconds, long durationSeconds) throws InterruptedException, IOException {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(5000)
+                .setSocketTimeout(30000)
+                .build();
+
+        try (CloseableHttpClient client = HttpClients.custom()
+                .setMaxConnTotal(clients)
+                .setMaxConnPerRoute(clients)
+                .setDefaultRequestConfig(requestConfig)
+                .build()) {
+
+            register(client);
+            awaitReplication(client);
+
+            ExecutorService workers = Executors.newFixedThreadPool(clients);
+            CountDownLatch finished = new CountDownLatch(clients);
+            running = true;
+
+            for (int i = 0; i < clients; i++) {
+                int worker = i;
+                workers.execute(() -> {
+                    try {
+                        heartbeat(client, worker);
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            System.out.printf("Warming up for %d s, %.1f heartbeats/s%n",
+                    warmupSeconds, (double) instances / renewalIntervalSeconds);
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            stats.forEach(RouteStats::reset);
+
+            System.out.printf("Measuring for %d s%n", durationSeconds);
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            stats.forEach(RouteStats::finish);
+
+            running = false;
+            finished.await();
+            workers.shutdown();
+        }
+    }
+
+    public void report(long seconds, File histogramsDir) throws IOException {
+        if (!histogramsDir.isDirectory() && !histogramsDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + histogramsDir);
+        }
+
+        System.out.printf("%n%d instances on %d nodes%n", instances, nodeUrls.size());
+        RouteStats.printHeader(System.out);
+        for (RouteStats nodeStats : stats) {
+            nodeStats.printSummary(System.out, seconds);
+            nodeStats.writeDistribution(histogramsDir);
+        }
+        System.out.printf("%nFull latency distributions written to %s%n", histogramsDir);
+    }
+
+    private void register(CloseableHttpClient client) throws IOException {
+        System.out.printf("Registering %d instances%n", instances);
+
+        for (int instance = 0; instance < instances; instance++) {
+            HttpPost post = new HttpPost(nodeUrl(instance) + "apps/" + app(instance));
+            post.setEntity(new StringEntity(instanceJson(instance), ContentType.APPLICATION_JSON));
+
+            try (CloseableHttpResponse response = client.execute(post)) {
+                EntityUtils.consume(response.getEntity());
+
+                if (response.getStatusLine().getStatusCode() != 204) {
+                    throw new IllegalStateException("Registering " + instanceId(instance) + " failed with "
+                            + response.getStatusLine());
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until every node lists all instances, which shows how long batched peer replication takes.
+     */
+    private void awaitReplication(CloseableHttpClient client) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MINUTES.toNanos(5);
+
+        for (int node = 0; node < nodeUrls.size(); node++) {
+            int visible;
+
+            while ((visible = visibleInstances(client, nodeUrls.get(node))) < instances) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("node" + (node + 1) + " lists " + visible + " of "
+                            + instances + " instances after 5 minutes");
+                }
+                TimeUnit.MILLISECONDS.sleep(200);
+            }
+        }
+
+        System.out.printf("All nodes list %d instances after %d ms%n",
+                instances, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Sends the heartbeats of the instances owned by this worker on a fixed schedule, latency is measured from
+     * the scheduled time so a stalled node is not hidden by the worker waiting for it.
+     */
+    private void heartbeat(CloseableHttpClient client, int worker) {
+        int owned = (instances - worker + clients - 1) / clients;
+
+        if (owned == 0) {
+            return;
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(renewalIntervalSeconds) / owned;
+        long scheduled = System.nanoTime();
+        int instance = worker;
+
+        while (running) {
+            scheduled += intervalNanos;
+            long wait = scheduled - System.nanoTime();
+
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            RouteStats nodeStats = stats.get(instance % nodeUrls.size());
+            HttpPut put = new HttpPut(nodeUrl(instance) + "apps/" + app(instance) + "/" + instanceId(instance));
+
+            try (CloseableHttpResponse response = client.execute(put)) {
+                EntityUtils.consume(response.getEntity());
+                nodeStats.record(System.nanoTime() - scheduled, response.getStatusLine().getStatusCode());
+            } catch (IOException e) {
+                nodeStats.recordError(System.nanoTime() - scheduled);
+            }
+
+            instance += clients;
+            if (instance >= instances) {
+                instance = worker;
+            }
+        }
+    }
+
+    private static int visibleInstances(CloseableHttpClient client, String nodeUrl) throws IOException {
+        HttpGet get = new HttpGet(nodeUrl + "apps");
+        get.setHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
+
+        try (CloseableHttpResponse response = client.execute(get)) {
+            Matcher matcher = INSTANCE_ID.matcher(EntityUtils.toString(response.getEntity()));
+            int count = 0;
+
+            while (matcher.find()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private String nodeUrl(int instance) {
+        return nodeUrls.get(instance % nodeUrls.size());
+    }
+
+    private String app(int instance) {
+        return "LOADTEST-APP-" + instance % apps;
+    }
+
+    private static String instanceId(int instance) {
+        return "loadtest-" + instance;
+    }
+
+    private String instanceJson(int instance) {
+        String ip = "10.0." + (instance >> 8 & 0xff) + "." + (instance & 0xff);
+
+        return "{\"instance\":{"
+                + "\"instanceId\":\"" + instanceId(instance) + "\","
+                + "\"app\":\"" + app(instance) + "\","
+                + "\"hostName\":\"" + ip + "\","
+                + "\"ipAddr\":\"" + ip + "\","
+                + "\"status\":\"UP\","
+                + "\"port\":{\"$\":8080,\"@enabled\":\"true\"},"
+                + "\"dataCenterInfo\":{\"@class\":\"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo\",\"name\":\"MyOwn\"},"
+                + "\"leaseInfo\":{\"renewalIntervalInSecs\":" + renewalIntervalSeconds
+                + ",\"durationInSecs\":" + renewalIntervalSeconds * 3 + "}}}";
+    }
+}
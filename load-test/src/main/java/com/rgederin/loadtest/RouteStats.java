@@ -0,0 +1,94 @@
+package com.rgederin.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status counters of one request of the traffic mix.
+ * Latencies are recorded in microseconds, up to one minute.
+ */
+public class RouteStats {
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_US, 3);
+
+    private final LongAdder[] statusClasses = new LongAdder[6];
+
+    private final LongAdder errors = new LongAdder();
+
+    private Histogram histogram;
+
+    public RouteStats(String name) {
+        this.name = name;
+
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    public void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(MAX_LATENCY_US, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statusClasses[Math.min(5, Math.max(0, status / 100))].increment();
+    }
+
+    public void recordError(long latencyNanos) {
+        recorder.recordValue(Math.min(MAX_LATENCY_US, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        errors.increment();
+    }
+
+    /**
+     * Drops everything recorded so far, used at the end of the warm-up.
+     */
+    public void reset() {
+        recorder.getIntervalHistogram();
+        errors.reset();
+        for (LongAdder statusClass : statusClasses) {
+            statusClass.reset();
+        }
+    }
+
+    public void finish() {
+        histogram = recorder.getIntervalHistogram();
+    }
+
+    public void printSummary(PrintStream out, double seconds) {
+        out.printf("%-32s %9d %10.1f %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                statusClasses[2].sum(),
+                statusClasses[4].sum() + statusClasses[5].sum(),
+                errors.sum(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf("%-32s %9s %10s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "request", "count", "req/s", "2xx", "4xx5xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    /**
+     * Writes the full percentile distribution in HdrHistogram's .hgrm format, in milliseconds.
+     */
+    public void writeDistribution(File dir) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(new File(dir, name + ".hgrm"))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,243 @@
+package com.rgederin.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts service jars as local processes and stops them when the load test ends.
+ * Each process writes its output to {@code <work-dir>/logs/<name>.log}.
+ */
+public class ServiceLauncher implements AutoCloseable {
+    private static final long POLL_INTERVAL_MS = 2000;
+
+    private static final long POLL_INTERVAL_MEASURING_MS = 20;
+
+    private final File servicesDir;
+
+    private final File logsDir;
+
+    private final List<String> jvmArgs;
+
+    private final long startupTimeoutMs;
+
+    private final List<Process> processes = new ArrayList<>();
+
+    public ServiceLauncher(File servicesDir, File workDir, List<String> jvmArgs, long startupTimeoutMs) {
+        this.servicesDir = servicesDir;
+        this.logsDir = new File(workDir, "logs");
+        this.jvmArgs = jvmArgs;
+        this.startupTimeoutMs = startupTimeoutMs;
+
+        if (!logsDir.isDirectory() && !logsDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + logsDir);
+        }
+    }
+
+    /**
+     * Starts {@code <services-dir>/<jar>.jar} with the given Spring Boot arguments and waits until
+     * {@code readyUrl} answers with a 2xx status.
+     */
+    public void start(String name, String jar, String readyUrl, String... args) throws IOException, InterruptedException {
+        Process process = launch(name, Collections.emptyList(), jarLaunchArgs(jar), args);
+
+        System.out.printf("Starting %s, output in %s%n", name, new File(logsDir, name + ".log"));
+        awaitReady(name, process, new ReadyCheck(readyUrl, null), POLL_INTERVAL_MS);
+    }
+
+    /**
+     * Starts a service with additional JVM arguments, returns the milliseconds from launching the JVM until
+     * each check first passed, awaited in order, and stops the process again.
+     *
+     * @param launchArgs the {@code -jar} or {@code -cp} arguments that select the application, see
+     *                   {@link #jarLaunchArgs} and {@link UnpackedJar#launchArgs}
+     */
+    public long[] measureStartup(String name, List<String> extraJvmArgs, List<String> launchArgs, String[] args,
+                                 ReadyCheck... checks) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = launch(name, extraJvmArgs, launchArgs, args);
+
+        try {
+            long[] millis = new long[checks.length];
+
+            for (int i = 0; i < checks.length; i++) {
+                awaitReady(name, process, checks[i], POLL_INTERVAL_MEASURING_MS);
+                millis[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+            return millis;
+        } finally {
+            stop(process);
+            processes.remove(process);
+        }
+    }
+
+    /**
+     * Arguments that run {@code <services-dir>/<jar>.jar} as executable jar.
+     */
+    public List<String> jarLaunchArgs(String jar) {
+        return Arrays.asList("-jar", jarFile(jar).getPath());
+    }
+
+    public File jarFile(String jar) {
+        File jarFile = new File(servicesDir, jar + ".jar");
+
+        if (!jarFile.isFile()) {
+            throw new IllegalStateException(jarFile + " not found, build the project with mvn package first");
+        }
+        return jarFile;
+    }
+
+    private Process launch(String name, List<String> extraJvmArgs, List<String> launchArgs, String... args)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.addAll(jvmArgs);
+        command.addAll(extraJvmArgs);
+        command.addAll(launchArgs);
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(logsDir, name + ".log"))
+                .start();
+        processes.add(process);
+
+        return process;
+    }
+
+    /**
+     * Copies a classpath directory of config files to the file system so config-service can serve it natively.
+     */
+    public static Path extractConfig(File workDir, String... files) throws IOException {
+        Path configDir = new File(workDir, "config").toPath();
+        Files.createDirectories(configDir);
+
+        for (String file : files) {
+            try (InputStream in = ServiceLauncher.class.getResourceAsStream("/config/" + file)) {
+                Files.copy(in, configDir.resolve(file), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return configDir;
+    }
+
+    /**
+     * Polls the url until it answers with a 2xx status or the startup timeout expires.
+     */
+    public void awaitReady(String name, Process process, String readyUrl) throws InterruptedException {
+        awaitReady(name, process, new ReadyCheck(readyUrl, null), POLL_INTERVAL_MS);
+    }
+
+    private void awaitReady(String name, Process process, ReadyCheck check, long pollIntervalMs)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + startupTimeoutMs;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (process != null && !process.isAlive()) {
+                throw new IllegalStateException(name + " exited with status " + process.exitValue());
+            }
+            if (check.isReady()) {
+                System.out.printf("%s is ready at %s%n", name, check.url);
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+        }
+
+        throw new IllegalStateException(name + " was not ready at " + check.url + " within " + startupTimeoutMs + " ms");
+    }
+
+    static String javaExecutable() {
+        return new File(System.getProperty("java.home"), "bin/java").getPath();
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+        for (Process process : processes) {
+            awaitExit(process);
+        }
+        processes.clear();
+    }
+
+    private static void stop(Process process) {
+        process.destroy();
+        awaitExit(process);
+    }
+
+    private static void awaitExit(Process process) {
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A url that is ready once it answers with a 2xx status and, unless {@code expected} is null,
+     * a JSON body containing {@code expected}.
+     */
+    public static final class ReadyCheck {
+        private final String url;
+
+        private final String expected;
+
+        public ReadyCheck(String url, String expected) {
+            this.url = url;
+            this.expected = expected;
+        }
+
+        private boolean isReady() {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+                connection.setConnectTimeout(1000);
+                connection.setReadTimeout(5000);
+                connection.setRequestProperty("Accept", "application/json");
+
+                try {
+                    int status = connection.getResponseCode();
+
+                    if (status < 200 || status >= 300) {
+                        return false;
+                    }
+                    if (expected == null) {
+                        return true;
+                    }
+                    try (InputStream in = connection.getInputStream()) {
+                        return readFully(in).contains(expected);
+                    }
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private static String readFully(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
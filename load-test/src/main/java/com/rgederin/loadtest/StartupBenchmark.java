@@ -0,0 +1,111 @@
+package com.rgederin.loadtest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots eureka-service and config-service, then starts each service of loadtest.startup.services once per
+ * variant of loadtest.startup.variants, loadtest.startup.runs times. Each run records the time from launching
+ * the JVM to the first successful request, and to the instance being UP in Eureka, which includes the warm-up
+ * of the fast-startup profile. Each run is stopped before the next one starts.
+ * <p>
+ * Fails when the median time to UP of a variant is not below that of loadtest.startup.baseline, unless
+ * loadtest.startup.fail-if-slower is false. Variants with class-data-sharing=true run from the unpacked jar
+ * with an archive created for them, they are skipped before JDK 11.
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load();
+        File workDir = new File(settings.get("loadtest.work-dir"));
+        int runs = settings.getInt("loadtest.startup.runs");
+        String baseline = settings.get("loadtest.startup.baseline");
+        String eurekaUrl = LoadTest.eurekaUrl(settings);
+
+        try (ServiceLauncher launcher = new ServiceLauncher(
+                new File(settings.get("loadtest.services-dir")),
+                workDir,
+                settings.getList("loadtest.service-jvm-args"),
+                settings.getInt("loadtest.startup-timeout-seconds") * 1000L)) {
+
+            LoadTest.launchInfrastructure(settings, launcher, workDir);
+
+            List<String> results = new ArrayList<>();
+            List<String> slower = new ArrayList<>();
+
+            for (String service : settings.getList("loadtest.startup.services")) {
+                String port = settings.get("loadtest." + service + "-port");
+                String module = settings.get("loadtest.startup." + service + ".module");
+                String app = settings.get("loadtest.startup." + service + ".app");
+                String readyUrl = "http://localhost:" + port + settings.get("loadtest.startup." + service + ".path");
+                Long baselineUpMs = null;
+
+                for (String variant : settings.getList("loadtest.startup.variants")) {
+                    List<String> jvmArgs = new ArrayList<>(settings.getList("loadtest.startup." + variant + ".jvm-args"));
+                    List<String> serviceArgs = new ArrayList<>(Arrays.asList(LoadTest.serviceArgs(
+                            port, eurekaUrl, LoadTest.configUrl(settings))));
+                    serviceArgs.addAll(settings.getList("loadtest.startup." + variant + ".args"));
+                    List<String> launchArgs;
+
+                    if (settings.getBoolean("loadtest.startup." + variant + ".class-data-sharing")) {
+                        if (!ClassDataSharing.isSupported()) {
+                            results.add(String.format("%-16s %-16s skipped, class-data sharing needs JDK 11+",
+                                    service, variant));
+                            continue;
+                        }
+
+                        UnpackedJar unpacked = UnpackedJar.extract(launcher.jarFile(module),
+                                new File(workDir, "appcds/" + service));
+                        File archive = ClassDataSharing.createArchive(unpacked, serviceArgs,
+                                new File(workDir, "logs/" + service + "-appcds.log"));
+                        jvmArgs.addAll(ClassDataSharing.jvmArgs(archive));
+                        launchArgs = unpacked.launchArgs();
+                    } else {
+                        launchArgs = launcher.jarLaunchArgs(module);
+                    }
+
+                    long[] firstRequestMs = new long[runs];
+                    long[] upMs = new long[runs];
+
+                    for (int run = 0; run < runs; run++) {
+                        String instanceId = service + "-" + variant + "-" + run;
+                        List<String> runArgs = new ArrayList<>(serviceArgs);
+                        runArgs.add("--eureka.instance.instance-id=" + instanceId);
+
+                        long[] millis = launcher.measureStartup(instanceId, jvmArgs, launchArgs,
+                                runArgs.toArray(new String[0]),
+                                new ServiceLauncher.ReadyCheck(readyUrl, null),
+                                new ServiceLauncher.ReadyCheck(eurekaUrl + "apps/" + app + "/" + instanceId,
+                                        "\"status\":\"UP\""));
+                        firstRequestMs[run] = millis[0];
+                        upMs[run] = millis[1];
+                    }
+
+                    Arrays.sort(firstRequestMs);
+                    Arrays.sort(upMs);
+                    results.add(String.format("%-16s %-16s %6d %9d %9d %9d %9d %9d %9d", service, variant, runs,
+                            firstRequestMs[0], firstRequestMs[runs / 2], firstRequestMs[runs - 1],
+                            upMs[0], upMs[runs / 2], upMs[runs - 1]));
+
+                    if (variant.equals(baseline)) {
+                        baselineUpMs = upMs[runs / 2];
+                    } else if (baselineUpMs != null && upMs[runs / 2] >= baselineUpMs) {
+                        slower.add(String.format("%s %s: %d ms to UP, %s: %d ms",
+                                service, variant, upMs[runs / 2], baseline, baselineUpMs));
+                    }
+                }
+            }
+
+            System.out.printf("%n%-16s %-16s %6s %29s %29s%n", "", "", "", "first request", "UP in Eureka");
+            System.out.printf("%-16s %-16s %6s %9s %9s %9s %9s %9s %9s%n", "service", "variant", "runs",
+                    "min ms", "p50 ms", "max ms", "min ms", "p50 ms", "max ms");
+            results.forEach(System.out::println);
+
+            if (!slower.isEmpty() && settings.getBoolean("loadtest.startup.fail-if-slower")) {
+                throw new IllegalStateException("Not faster than " + baseline + " at the median: " + slower);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.rgederin.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted selection of the requests sent by the load generator.
+ */
+public class TrafficMix {
+    private final List<Request> requests;
+
+    private final int[] cumulativeWeights;
+
+    public TrafficMix(List<Request> requests) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix has no request with a positive weight");
+        }
+
+        this.requests = requests;
+        this.cumulativeWeights = new int[requests.size()];
+
+        int total = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            total += requests.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public List<Request> getRequests() {
+        return requests;
+    }
+
+    public Request next() {
+        int point = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return requests.get(i);
+            }
+        }
+        return requests.get(requests.size() - 1);
+    }
+
+    public static class Request {
+        private final String name;
+
+        private final String path;
+
+        private final int weight;
+
+        public Request(String name, String path, int weight) {
+            this.name = name;
+            this.path = path;
+            this.weight = weight;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.rgederin.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An executable Spring Boot jar extracted to a directory and started with {@code -cp} and its Start-Class.
+ * Class-data sharing cannot archive classes loaded from nested jars, so archived runs use this layout.
+ */
+public final class UnpackedJar {
+    private final File dir;
+
+    private final String startClass;
+
+    private UnpackedJar(File dir, String startClass) {
+        this.dir = dir;
+        this.startClass = startClass;
+    }
+
+    /**
+     * Extracts the jar to dir, replacing what was there before.
+     */
+    public static UnpackedJar extract(File jar, File dir) throws IOException {
+        delete(dir.toPath());
+
+        try (JarFile jarFile = new JarFile(jar)) {
+            String startClass = jarFile.getManifest().getMainAttributes().getValue("Start-Class");
+
+            if (startClass == null) {
+                throw new IllegalStateException(jar + " is not an executable Spring Boot jar");
+            }
+
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                Path target = dir.toPath().resolve(entry.getName()).normalize();
+
+                if (!target.startsWith(dir.toPath())) {
+                    throw new IllegalStateException("Entry outside of the target directory: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        Files.copy(in, target);
+                    }
+                }
+            }
+            return new UnpackedJar(dir, startClass);
+        }
+    }
+
+    public File getDir() {
+        return dir;
+    }
+
+    /**
+     * The application classes followed by the dependencies in name order. The archive only matches runs
+     * with the same class path, so it is listed explicitly rather than with a wildcard.
+     */
+    public String classpath() {
+        List<String> entries = new ArrayList<>();
+        entries.add(new File(dir, "BOOT-INF/classes").getPath());
+
+        File[] libs = new File(dir, "BOOT-INF/lib").listFiles((libDir, name) -> name.endsWith(".jar"));
+        if (libs != null) {
+            Arrays.sort(libs, Comparator.comparing(File::getName));
+            for (File lib : libs) {
+                entries.add(lib.getPath());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    public List<String> launchArgs() {
+        return Arrays.asList("-cp", classpath(), startClass);
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.rgederin.organization.service.OrganizationService;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,6 +31,11 @@ public class OrganizationServiceController {
         return organizationService.getOrganizationById(organizationId).get();
     }
 
+    @PostMapping("/batch")
+    public List<Organization> getOrganizationsByIds(@RequestBody List<String> organizationIds) {
+        return organizationService.getOrganizationsByIds(organizationIds);
+    }
+
     @GetMapping("/all")
     public List<Organization> getAllOrganisations() {
         return organizationService.getAllOrganisations();
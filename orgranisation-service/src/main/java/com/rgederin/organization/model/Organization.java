@@ -15,18 +15,18 @@ import lombok.Setter;
 public class Organization {
 
     @Id
-    @Column(name = "organization_id", nullable = false)
+    @Column(name = "organization_id", nullable = false, length = 100)
     private String id;
 
-    @Column(name = "name", nullable = false)
+    @Column(name = "name", nullable = false, length = 100)
     private String name;
 
-    @Column(name = "contact_name", nullable = false)
+    @Column(name = "contact_name", nullable = false, length = 100)
     private String contactName;
 
-    @Column(name = "contact_email", nullable = false)
+    @Column(name = "contact_email", nullable = false, length = 100)
     private String contactEmail;
 
-    @Column(name = "contact_phone", nullable = false)
+    @Column(name = "contact_phone", nullable = false, length = 20)
     private String contactPhone;
 }
@@ -5,6 +5,8 @@ import com.rgederin.organization.repository.OrganizationRepository;
 
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,10 @@ public class OrganizationService {
         return organizationRepository.findById(organizationId);
     }
 
+    public List<Organization> getOrganizationsByIds(Collection<String> organizationIds) {
+        return (List<Organization>) organizationRepository.findAllById(new LinkedHashSet<>(organizationIds));
+    }
+
     public List<Organization> getAllOrganisations() {
         return (List<Organization>) organizationRepository.findAll();
     }
@@ -1,7 +1,8 @@
 package com.rgederin.organization.util;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.rgederin.common.logging.RequestCompletionLogger;
+
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -13,10 +14,10 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 @Component
 public class UserContextFilter implements Filter {
-    private static final Logger logger = LoggerFactory.getLogger(UserContextFilter.class);
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
@@ -24,15 +25,32 @@ public class UserContextFilter implements Filter {
 
 
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        UserContext userContext = UserContextHolder.getContext();
+
+        userContext.setCorrelationId(httpServletRequest.getHeader(UserContext.CORRELATION_ID));
+        userContext.setUserId(httpServletRequest.getHeader(UserContext.USER_ID));
+        userContext.setAuthToken(httpServletRequest.getHeader(UserContext.AUTH_TOKEN));
+        userContext.setOrgId(httpServletRequest.getHeader(UserContext.ORG_ID));
+
+        putMdc(UserContext.CORRELATION_ID, userContext.getCorrelationId());
+        putMdc(UserContext.USER_ID, userContext.getUserId());
+        putMdc(UserContext.ORG_ID, userContext.getOrgId());
+
+        long start = System.nanoTime();
+
+        try {
+            filterChain.doFilter(httpServletRequest, servletResponse);
+        } finally {
+            // Async requests are logged when their response completes
+            RequestCompletionLogger.completed(httpServletRequest, (HttpServletResponse) servletResponse, start);
+            MDC.clear();
+        }
+    }
 
-        UserContextHolder.getContext().setCorrelationId(  httpServletRequest.getHeader(UserContext.CORRELATION_ID) );
-        UserContextHolder.getContext().setUserId(httpServletRequest.getHeader(UserContext.USER_ID));
-        UserContextHolder.getContext().setAuthToken(httpServletRequest.getHeader(UserContext.AUTH_TOKEN));
-        UserContextHolder.getContext().setOrgId(httpServletRequest.getHeader(UserContext.ORG_ID));
-
-        System.out.println("Organization Service (NEW) Incoming Correlation id: " + UserContextHolder.getContext().getCorrelationId());
-
-        filterChain.doFilter(httpServletRequest, servletResponse);
+    private static void putMdc(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
     }
 
     @Override
@@ -2,10 +2,10 @@ DROP TABLE IF EXISTS organizations;
 
 CREATE TABLE organizations (
   organization_id        VARCHAR(100) PRIMARY KEY NOT NULL,
-  name                   TEXT NOT NULL,
-  contact_name           TEXT NOT NULL,
-  contact_email          TEXT NOT NULL,
-  contact_phone          TEXT   NOT NULL);
+  name                   VARCHAR(100) NOT NULL,
+  contact_name           VARCHAR(100) NOT NULL,
+  contact_email          VARCHAR(100) NOT NULL,
+  contact_phone          VARCHAR(20)  NOT NULL);
 
 
 INSERT INTO organizations (organization_id, name, contact_name, contact_email, contact_phone)
@@ -0,0 +1,33 @@
+package com.rgederin.common.http2;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Accepts cleartext HTTP/2 (h2c) next to HTTP/1.1 on the same port. The max concurrent streams setting
+ * caps the streams a client multiplexes over one connection before it has to open another one.
+ * Registered in META-INF/spring.factories.
+ */
+@Configuration
+@ConditionalOnClass(Http2Protocol.class)
+@ConditionalOnProperty(name = "http2.server.enabled", havingValue = "true")
+public class H2cServerConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> h2cCustomizer(
+            @Value("${http2.server.max-concurrent-streams:100}") long maxConcurrentStreams) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            Http2Protocol http2Protocol = new Http2Protocol();
+            http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+            http2Protocol.setMaxConcurrentStreamExecution((int) maxConcurrentStreams);
+
+            connector.addUpgradeProtocol(http2Protocol);
+        });
+    }
+}
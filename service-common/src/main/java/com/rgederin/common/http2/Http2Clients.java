@@ -0,0 +1,46 @@
+package com.rgederin.common.http2;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Builds the OkHttp clients that call the services over cleartext HTTP/2 (h2c with prior knowledge).
+ * <p>
+ * OkHttp multiplexes all requests to an instance over one connection and opens another one only when the
+ * instance's max-concurrent-streams is reached, so that server setting controls the connections per instance.
+ */
+public final class Http2Clients {
+
+    private Http2Clients() {
+    }
+
+    /**
+     * Connection pool publishing its open and idle connections as http2.client.connections.
+     */
+    public static ConnectionPool connectionPool(String client, int maxIdleConnections, long keepAliveSeconds,
+                                                MeterRegistry meterRegistry) {
+        ConnectionPool connectionPool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+
+        meterRegistry.gauge("http2.client.connections", Tags.of("client", client, "state", "open"),
+                connectionPool, ConnectionPool::connectionCount);
+        meterRegistry.gauge("http2.client.connections", Tags.of("client", client, "state", "idle"),
+                connectionPool, ConnectionPool::idleConnectionCount);
+
+        return connectionPool;
+    }
+
+    public static OkHttpClient client(String client, ConnectionPool connectionPool, MeterRegistry meterRegistry) {
+        return new OkHttpClient.Builder()
+                .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE))
+                .connectionPool(connectionPool)
+                .eventListener(new OkHttpStreamMetrics(meterRegistry, client))
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+}
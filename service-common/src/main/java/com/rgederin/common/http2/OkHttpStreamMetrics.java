@@ -0,0 +1,61 @@
+package com.rgederin.common.http2;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+
+/**
+ * OkHttp listener publishing the requests in flight per upstream instance. Over HTTP/2 each of them is a stream,
+ * so http2.client.streams.active divided by the open connections is the multiplexing factor actually reached.
+ * New connections are counted by negotiated protocol, which shows when an upstream fell back to HTTP/1.1.
+ */
+public class OkHttpStreamMetrics extends okhttp3.EventListener {
+
+    private final MeterRegistry meterRegistry;
+
+    private final String client;
+
+    private final ConcurrentMap<String, AtomicInteger> activeStreams = new ConcurrentHashMap<>();
+
+    public OkHttpStreamMetrics(MeterRegistry meterRegistry, String client) {
+        this.meterRegistry = meterRegistry;
+        this.client = client;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        activeStreams(call).incrementAndGet();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        activeStreams(call).decrementAndGet();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        activeStreams(call).decrementAndGet();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        meterRegistry.counter("http2.client.connections.opened",
+                "client", client, "protocol", protocol == null ? "unknown" : protocol.toString()).increment();
+    }
+
+    private AtomicInteger activeStreams(Call call) {
+        HttpUrl url = call.request().url();
+
+        return activeStreams.computeIfAbsent(url.host() + ':' + url.port(), instance -> meterRegistry.gauge(
+                "http2.client.streams.active", Tags.of("client", client, "instance", instance), new AtomicInteger()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.rgederin.common.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Logs one line per completed request with its route, status and latency. Async requests are logged when
+ * the response completes, with the MDC the request had when it went async.
+ */
+public final class RequestCompletionLogger {
+    private static final Logger logger = LoggerFactory.getLogger(RequestCompletionLogger.class);
+
+    private RequestCompletionLogger() {
+    }
+
+    /**
+     * Called by a servlet filter after the filter chain returned, before it clears the MDC.
+     */
+    public static void completed(HttpServletRequest request, HttpServletResponse response, long startNanos) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new CompletionListener(MDC.getCopyOfContextMap(), startNanos),
+                    request, response);
+        } else {
+            log(request, response, startNanos);
+        }
+    }
+
+    private static void log(HttpServletRequest request, HttpServletResponse response, long startNanos) {
+        logger.info("Completed request {} {} {}",
+                kv("route", request.getRequestURI()),
+                kv("status", response.getStatus()),
+                kv("latency_ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+    }
+
+    private static class CompletionListener implements AsyncListener {
+        private final Map<String, String> mdc;
+
+        private final long startNanos;
+
+        CompletionListener(Map<String, String> mdc, long startNanos) {
+            this.mdc = mdc;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+
+            try {
+                log((HttpServletRequest) event.getSuppliedRequest(), (HttpServletResponse) event.getSuppliedResponse(),
+                        startNanos);
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        // Timeouts and errors are followed by onComplete
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // Listeners are dropped when the request goes async again
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this, event.getSuppliedRequest(), event.getSuppliedResponse());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.rgederin.common.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Marks application and auto-configured beans as lazy so they are created on first use instead of at startup.
+ * Infrastructure beans and classes starting with one of the startup.lazy-init.excludes prefixes stay eager.
+ * Lifecycle beans, servlet filters and listeners are still created at startup by the context itself.
+ */
+public class LazyInitBeanFactoryPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+    private List<String> excludes;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.excludes = Arrays.asList(environment.getProperty("startup.lazy-init.excludes", String[].class, new String[0]));
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && !isExcluded(definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean isExcluded(BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+
+        if (className == null) {
+            return false;
+        }
+
+        for (String exclude : excludes) {
+            if (className.startsWith(exclude)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
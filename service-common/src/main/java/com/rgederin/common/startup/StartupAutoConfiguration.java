@@ -0,0 +1,29 @@
+package com.rgederin.common.startup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup-optimized mode, enabled by the fast-startup profile of the services: lazy beans and a warm-up
+ * before taking traffic. Registered in META-INF/spring.factories.
+ */
+@Configuration
+@Profile("fast-startup")
+public class StartupAutoConfiguration {
+
+    @Bean
+    public static LazyInitBeanFactoryPostProcessor lazyInitBeanFactoryPostProcessor() {
+        return new LazyInitBeanFactoryPostProcessor();
+    }
+
+    @Bean
+    public StartupWarmer startupWarmer(Environment environment,
+                                       ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        return new StartupWarmer(environment, applicationInfoManager);
+    }
+}
@@ -0,0 +1,106 @@
+package com.rgederin.common.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Logs how long each startup phase took, from JVM start to the application being ready, and publishes the
+ * phases as the application.startup.phase gauge. Registered in META-INF/spring.factories.
+ * <p>
+ * With startup.exit-after-start=true the application exits once it is ready, used to record the class list
+ * of the class-data sharing archive, see ClassDataSharing in load-test.
+ */
+public class StartupTimingListener implements SpringApplicationRunListener {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingListener.class);
+
+    private static final String BOOTSTRAP_PROPERTY_SOURCE = "bootstrap";
+
+    private final SpringApplication application;
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private long last;
+
+    private boolean bootstrap;
+
+    public StartupTimingListener(SpringApplication application, String[] args) {
+        this.application = application;
+    }
+
+    @Override
+    public void starting() {
+        last = System.nanoTime();
+        phases.put("jvm", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableEnvironment environment) {
+        // Spring Cloud runs the bootstrap context through the same listeners, its time is part of this phase
+        bootstrap = environment.getPropertySources().contains(BOOTSTRAP_PROPERTY_SOURCE);
+        phase("environment");
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        phase("context-prepared");
+    }
+
+    @Override
+    public void contextLoaded(ConfigurableApplicationContext context) {
+        phase("context-loaded");
+    }
+
+    @Override
+    public void started(ConfigurableApplicationContext context) {
+        phase("refresh");
+    }
+
+    @Override
+    public void running(ConfigurableApplicationContext context) {
+        phase("runners");
+
+        if (bootstrap) {
+            return;
+        }
+
+        long total = phases.values().stream().mapToLong(Long::longValue).sum();
+        logger.info("Started {} in {} ms: {}", application.getMainApplicationClass() == null
+                ? "application" : application.getMainApplicationClass().getSimpleName(), total, phases);
+
+        MeterRegistry meterRegistry = context.getBeanProvider(MeterRegistry.class).getIfUnique();
+
+        if (meterRegistry != null) {
+            for (String phase : phases.keySet()) {
+                TimeGauge.builder("application.startup.phase", phases, TimeUnit.MILLISECONDS, p -> p.get(phase))
+                        .tag("phase", phase)
+                        .register(meterRegistry);
+            }
+        }
+
+        if (context.getEnvironment().getProperty("startup.exit-after-start", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    @Override
+    public void failed(ConfigurableApplicationContext context, Throwable exception) {
+    }
+
+    private void phase(String name) {
+        long now = System.nanoTime();
+        phases.put(name, TimeUnit.NANOSECONDS.toMillis(now - last));
+        last = now;
+    }
+}
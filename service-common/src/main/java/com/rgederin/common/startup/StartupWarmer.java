@@ -0,0 +1,70 @@
+package com.rgederin.common.startup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends startup.warmup.iterations requests to each of startup.warmup.paths once the application is ready, which
+ * creates the lazy beans on those paths and gets their code compiled by the JIT, then marks the instance UP
+ * in Eureka. Until then the instance is registered with eureka.instance.initialStatus, STARTING in the
+ * fast-startup profile, so no traffic is routed to it while it warms up.
+ */
+public class StartupWarmer implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmer.class);
+
+    private final Environment environment;
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    public StartupWarmer(Environment environment, ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.environment = environment;
+        this.applicationInfoManager = applicationInfoManager;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        String[] paths = environment.getProperty("startup.warmup.paths", String[].class, new String[0]);
+        int iterations = environment.getProperty("startup.warmup.iterations", Integer.class, 0);
+        String baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+
+        long start = System.nanoTime();
+        warmUp(baseUrl, paths, iterations);
+        logger.info("Warmed up {} paths with {} requests each in {} ms",
+                paths.length, iterations, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+
+        if (infoManager != null) {
+            infoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+
+    private static void warmUp(String baseUrl, String[] paths, int iterations) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(1000);
+        requestFactory.setReadTimeout(5000);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+
+        for (String path : paths) {
+            for (int i = 0; i < iterations; i++) {
+                try {
+                    restTemplate.getForObject(baseUrl + path, byte[].class);
+                } catch (RestClientException e) {
+                    logger.debug("Warm-up request to {} failed: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.rgederin.common.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates correlation ids in the textual UUID format. Unlike {@link java.util.UUID#randomUUID()} it does not
+ * go through the shared SecureRandom: the first 48 bits are the current time in milliseconds, so ids sort by
+ * creation time, and the rest comes from {@link ThreadLocalRandom} (UUID version 7 layout).
+ */
+public final class CorrelationIds {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private CorrelationIds() {
+    }
+
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long mostSignificant = System.currentTimeMillis() << 16 | 0x7000L | random.nextInt(0x1000);
+        long leastSignificant = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        char[] chars = new char[36];
+        hex(mostSignificant >>> 32, chars, 0, 8);
+        chars[8] = '-';
+        hex(mostSignificant >>> 16, chars, 9, 4);
+        chars[13] = '-';
+        hex(mostSignificant, chars, 14, 4);
+        chars[18] = '-';
+        hex(leastSignificant >>> 48, chars, 19, 4);
+        chars[23] = '-';
+        hex(leastSignificant, chars, 24, 12);
+
+        return new String(chars);
+    }
+
+    private static void hex(long value, char[] chars, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
@@ -12,4 +12,4 @@ echo "********************************************************"
 java -Djava.security.egd=file:/dev/./urandom -Dserver.port=$SERVER_PORT   \
      -Deureka.client.serviceUrl.defaultZone=$EUREKASERVER_URI   \
      -Dspring.profiles.active=$PROFILE                          \
-     -jar /usr/local/zuulservice/@project.build.finalName@.jar
\ No newline at end of file
+     -jar /usr/local/zuulservice/@project.build.finalName@-exec.jar
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.gederin.cache;
+
+import com.netflix.util.Pair;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Upstream response as stored by {@link ResponseCache}. The body is kept exactly as received,
+ * so a gzipped upstream body stays gzipped and SendResponseFilter decides whether to inflate it.
+ */
+@Value
+public class CachedResponse {
+    private final int status;
+
+    private final List<Pair<String, String>> headers;
+
+    private final byte[] body;
+
+    private final boolean gzipped;
+
+    private final String etag;
+
+    private final long ttlNanos;
+}
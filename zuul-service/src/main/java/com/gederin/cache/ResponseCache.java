@@ -0,0 +1,74 @@
+package com.gederin.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size-bounded cache of upstream responses. Entries expire after the TTL of the route they were stored for.
+ * Keys are built by {@link com.gederin.util.RequestKeys} and start with the route id followed by a space,
+ * which is what {@link #purge(String)} relies on.
+ */
+@Component
+public class ResponseCache {
+    private static final String CACHE_NAME = "gateway-responses";
+
+    private final Cache<String, CachedResponse> cache;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.getBody().length)
+                .expireAfter(new RouteTtlExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Removes all cached responses of a route.
+     */
+    public void purge(String route) {
+        String prefix = route + ' ';
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void purgeAll() {
+        cache.invalidateAll();
+    }
+
+    private static class RouteTtlExpiry implements Expiry<String, CachedResponse> {
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.getTtlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.getTtlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
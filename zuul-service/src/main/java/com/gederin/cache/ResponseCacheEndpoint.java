@@ -0,0 +1,45 @@
+package com.gederin.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Purges the gateway response cache, e.g. DELETE /actuator/responsecache/organizationservice
+ */
+@Component
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    private final ResponseCacheProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> cache() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", properties.isEnabled());
+        details.put("entries", responseCache.size());
+        details.put("routes", properties.getRoutes());
+
+        return details;
+    }
+
+    @DeleteOperation
+    public void purge(@Selector String route) {
+        responseCache.purge(route);
+    }
+
+    @DeleteOperation
+    public void purgeAll() {
+        responseCache.purgeAll();
+    }
+}
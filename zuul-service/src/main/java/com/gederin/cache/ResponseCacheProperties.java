@@ -0,0 +1,50 @@
+package com.gederin.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Settings of the gateway response cache. Only routes listed under gateway.cache.routes are cached.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+
+    /**
+     * Upper bound of the summed body sizes of all cached responses.
+     */
+    private long maxBytes = 64 * 1024 * 1024;
+
+    /**
+     * Responses with a larger body are passed through without being cached.
+     */
+    private int maxEntryBytes = 256 * 1024;
+
+    /**
+     * Request headers that are part of the cache key.
+     */
+    private List<String> varyHeaders = new ArrayList<>(Arrays.asList("org-id", "accept"));
+
+    private Map<String, Route> routes = new HashMap<>();
+
+    @Data
+    public static class Route {
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Ant patterns matched against the path within the route, e.g. /v1/organizations/*
+         */
+        private List<String> paths = new ArrayList<>();
+    }
+}
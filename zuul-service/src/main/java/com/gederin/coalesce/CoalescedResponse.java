@@ -0,0 +1,21 @@
+package com.gederin.coalesce;
+
+import com.netflix.util.Pair;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Upstream response of a coalesced call, handed to every request that joined it.
+ */
+@Value
+public class CoalescedResponse {
+    private final int status;
+
+    private final List<Pair<String, String>> headers;
+
+    private final byte[] body;
+
+    private final boolean gzipped;
+}
@@ -0,0 +1,49 @@
+package com.gederin.coalesce;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Settings of request coalescing. Only GETs on the routes and paths listed under gateway.coalescing.routes are coalesced.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+    private boolean enabled = true;
+
+    /**
+     * Requests that find this many requests already waiting for the same call go upstream on their own.
+     */
+    private int maxWaiters = 200;
+
+    /**
+     * How long a request waits for the call it joined before failing with 504. Defaults to the Ribbon timeout
+     * of the route's service, see {@link CoalescingTimeouts}.
+     */
+    private Duration timeout;
+
+    /**
+     * Responses with a larger body are not shared, waiting requests go upstream on their own.
+     */
+    private int maxBodyBytes = 1024 * 1024;
+
+    /**
+     * Request headers that must be equal for requests to share a response.
+     */
+    private List<String> varyHeaders = new ArrayList<>(Arrays.asList("org-id", "accept"));
+
+    /**
+     * Ant patterns per route id, matched against the path within the route.
+     */
+    private Map<String, List<String>> routes = new HashMap<>();
+}
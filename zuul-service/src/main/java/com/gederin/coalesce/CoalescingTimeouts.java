@@ -0,0 +1,54 @@
+package com.gederin.coalesce;
+
+import com.netflix.client.config.CommonClientConfigKey;
+import com.netflix.client.config.DefaultClientConfigImpl;
+import com.netflix.client.config.IClientConfig;
+
+import org.springframework.cloud.netflix.ribbon.RibbonClientConfiguration;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * How long requests wait for a coalesced call. Unless gateway.coalescing.timeout is set, that is the longest
+ * the leader's upstream call can take: the Ribbon connect and read timeouts of the service, times its retries.
+ */
+@Component
+@RequiredArgsConstructor
+public class CoalescingTimeouts {
+
+    private final CoalescingProperties properties;
+
+    private final SpringClientFactory clientFactory;
+
+    private final Map<String, Long> timeouts = new ConcurrentHashMap<>();
+
+    public long timeoutNanos(String serviceId) {
+        if (properties.getTimeout() != null) {
+            return properties.getTimeout().toNanos();
+        }
+        if (serviceId == null) {
+            return TimeUnit.MILLISECONDS.toNanos(
+                    RibbonClientConfiguration.DEFAULT_CONNECT_TIMEOUT + RibbonClientConfiguration.DEFAULT_READ_TIMEOUT);
+        }
+        return timeouts.computeIfAbsent(serviceId, this::ribbonTimeoutNanos);
+    }
+
+    private long ribbonTimeoutNanos(String serviceId) {
+        IClientConfig config = clientFactory.getClientConfig(serviceId);
+
+        int connectTimeout = config.get(CommonClientConfigKey.ConnectTimeout, RibbonClientConfiguration.DEFAULT_CONNECT_TIMEOUT);
+        int readTimeout = config.get(CommonClientConfigKey.ReadTimeout, RibbonClientConfiguration.DEFAULT_READ_TIMEOUT);
+        int maxAutoRetries = config.get(CommonClientConfigKey.MaxAutoRetries, DefaultClientConfigImpl.DEFAULT_MAX_AUTO_RETRIES);
+        int maxAutoRetriesNextServer = config.get(CommonClientConfigKey.MaxAutoRetriesNextServer,
+                DefaultClientConfigImpl.DEFAULT_MAX_AUTO_RETRIES_NEXT_SERVER);
+
+        return TimeUnit.MILLISECONDS.toNanos(
+                (long) (connectTimeout + readTimeout) * (maxAutoRetries + 1) * (maxAutoRetriesNextServer + 1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.gederin.coalesce;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upstream calls in flight, by request key. The first request for a key leads the call, later ones wait for its response.
+ */
+@Component
+public class InflightRequests {
+
+    private final ConcurrentMap<String, Call> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the call unless one is already in flight for its key. Returns the call in flight,
+     * which is the given one when the caller leads it.
+     */
+    public Call join(Call call) {
+        while (true) {
+            Call current = calls.putIfAbsent(call.key, call);
+
+            if (current == null) {
+                return call;
+            }
+
+            // A leader that never completed, e.g. because a later filter failed, must not block the key forever
+            if (!current.isStale()) {
+                return current;
+            }
+            if (calls.replace(call.key, current, call)) {
+                current.fail(new TimeoutException("Coalesced call for " + call.key + " did not complete"));
+                return call;
+            }
+        }
+    }
+
+    public void complete(Call call, CoalescedResponse response) {
+        calls.remove(call.key, call);
+        call.response.complete(response);
+    }
+
+    public void fail(Call call, Throwable cause) {
+        calls.remove(call.key, call);
+        call.fail(cause);
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    public static final class Call {
+        private final String key;
+
+        private final long timeoutNanos;
+
+        private final long startedAt = System.nanoTime();
+
+        private final CompletableFuture<CoalescedResponse> response = new CompletableFuture<>();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        public Call(String key, long timeoutNanos) {
+            this.key = key;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        /**
+         * Adds a waiter unless maxWaiters are already waiting. A successful call must be followed by {@link #leave()}.
+         */
+        public boolean tryEnter(int maxWaiters) {
+            if (waiters.incrementAndGet() > maxWaiters) {
+                waiters.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        public void leave() {
+            waiters.decrementAndGet();
+        }
+
+        /**
+         * Waits for the response until the timeout of the call has passed since it started.
+         */
+        public CoalescedResponse await() throws InterruptedException, ExecutionException, TimeoutException {
+            return response.get(Math.max(0, startedAt + timeoutNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        public int getWaiters() {
+            return waiters.get();
+        }
+
+        private boolean isStale() {
+            return System.nanoTime() - startedAt > timeoutNanos;
+        }
+
+        private void fail(Throwable cause) {
+            response.completeExceptionally(cause);
+        }
+    }
+}
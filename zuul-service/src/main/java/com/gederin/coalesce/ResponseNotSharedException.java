@@ -0,0 +1,12 @@
+package com.gederin.coalesce;
+
+/**
+ * The leader got a response that cannot be shared, e.g. because its body is too large. Unlike a failed call,
+ * this sends the waiting requests upstream on their own.
+ */
+public class ResponseNotSharedException extends RuntimeException {
+
+    public ResponseNotSharedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,136 @@
+package com.gederin.filters;
+
+import com.gederin.ratelimit.Quota;
+import com.gederin.ratelimit.RateLimitProperties;
+import com.gederin.ratelimit.RateLimiterStore;
+import com.gederin.util.FilterUtils;
+import com.gederin.util.RequestHeaders;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rejects requests over the org-id or user-id quota of their route with 429 before they are routed. A request
+ * only takes from the quotas when it is within all of them. Requests without the header of a dimension are not
+ * limited on it. When the store fails the request is admitted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends ZuulFilter {
+    // After ResponseCacheFilter, so cache hits do not count against the quotas
+    private static final int FILTER_ORDER = FilterConstants.PRE_DECORATION_FILTER_ORDER + 6;
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String ORG = "org";
+    private static final String USER = "user";
+
+    private final RateLimitProperties properties;
+
+    private final RateLimiterStore store;
+
+    private final FilterUtils filterUtils;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        return properties.isEnabled() && ctx.sendZuulResponse() && ctx.get(FilterConstants.PROXY_KEY) != null;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String route = ctx.get(FilterConstants.PROXY_KEY).toString();
+        RequestHeaders headers = filterUtils.getRequestHeaders(ctx);
+        List<String> dimensions = new ArrayList<>(2);
+        List<String> keys = new ArrayList<>(2);
+        List<Quota> quotas = new ArrayList<>(2);
+
+        addBucket(route, ORG, headers.getOrgId(), dimensions, keys, quotas);
+        addBucket(route, USER, headers.getUserId(), dimensions, keys, quotas);
+
+        if (keys.isEmpty()) {
+            return null;
+        }
+
+        long[] waits;
+        try {
+            waits = store.tryAcquire(keys, quotas);
+        } catch (RuntimeException e) {
+            logger.warn("Rate limiter store failed, admitting request for {}", keys, e);
+            return null;
+        }
+
+        long maxWaitNanos = 0;
+
+        for (int i = 0; i < waits.length; i++) {
+            if (waits[i] > 0) {
+                logger.debug("Rate limit exceeded on {}", keys.get(i));
+                rejectionCounter(route, dimensions.get(i)).increment();
+                maxWaitNanos = Math.max(maxWaitNanos, waits[i]);
+            }
+        }
+
+        if (maxWaitNanos > 0) {
+            long retryAfterSeconds = Math.max(1,
+                    TimeUnit.NANOSECONDS.toSeconds(maxWaitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            ctx.setSendZuulResponse(false);
+            ctx.setResponseStatusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+            ctx.addZuulResponseHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+
+        return null;
+    }
+
+    private void addBucket(String route, String dimension, String id,
+                           List<String> dimensions, List<String> keys, List<Quota> quotas) {
+        if (id == null) {
+            return;
+        }
+
+        Quota quota = ORG.equals(dimension) ? properties.orgQuota(route, id) : properties.userQuota(route);
+
+        if (!quota.isUnlimited()) {
+            dimensions.add(dimension);
+            keys.add(route + ':' + dimension + ':' + id);
+            quotas.add(quota);
+        }
+    }
+
+    private Counter rejectionCounter(String route, String dimension) {
+        return rejections.computeIfAbsent(route + ':' + dimension, key -> Counter.builder("gateway.ratelimit.rejected")
+                .description("Requests rejected by the gateway rate limiter")
+                .tag("route", route)
+                .tag("dimension", dimension)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,79 @@
+package com.gederin.filters;
+
+import com.gederin.coalesce.CoalescedResponse;
+import com.gederin.coalesce.CoalescingProperties;
+import com.gederin.coalesce.InflightRequests;
+import com.gederin.coalesce.ResponseNotSharedException;
+import com.gederin.util.FilterUtils;
+import com.gederin.util.ResponseBodies;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.netflix.zuul.exception.ZuulException;
+
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the response of a call led by this request to the requests waiting in {@link RequestCoalescingFilter}.
+ * Runs before ResponseCacheStoreFilter, which may turn the leader's own response into a body-less 304.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescingCompletionFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = FilterConstants.SEND_RESPONSE_FILTER_ORDER - 20;
+
+    private final CoalescingProperties properties;
+
+    private final InflightRequests inflightRequests;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return RequestContext.getCurrentContext().get(FilterUtils.COALESCING_CALL) != null;
+    }
+
+    @Override
+    public Object run() throws ZuulException {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        InflightRequests.Call call = (InflightRequests.Call) ctx.get(FilterUtils.COALESCING_CALL);
+
+        if (ctx.getThrowable() != null) {
+            inflightRequests.fail(call, ctx.getThrowable());
+            return null;
+        }
+
+        byte[] body;
+        try {
+            body = ctx.getResponseDataStream() == null
+                    ? new byte[0]
+                    : ResponseBodies.buffer(ctx, properties.getMaxBodyBytes());
+        } catch (IOException e) {
+            inflightRequests.fail(call, e);
+            throw new ZuulException(e, HttpStatus.BAD_GATEWAY.value(), e.getMessage());
+        }
+
+        if (body == null) {
+            inflightRequests.fail(call, new ResponseNotSharedException("Response body is too large to be shared"));
+            return null;
+        }
+
+        inflightRequests.complete(call, new CoalescedResponse(
+                ctx.getResponseStatusCode(), ResponseBodies.replayableHeaders(ctx), body, ctx.getResponseGZipped()));
+
+        return null;
+    }
+}
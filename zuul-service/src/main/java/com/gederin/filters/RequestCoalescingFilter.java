@@ -0,0 +1,160 @@
+package com.gederin.filters;
+
+import com.gederin.coalesce.CoalescedResponse;
+import com.gederin.coalesce.CoalescingProperties;
+import com.gederin.coalesce.CoalescingTimeouts;
+import com.gederin.coalesce.InflightRequests;
+import com.gederin.coalesce.ResponseNotSharedException;
+import com.gederin.util.FilterUtils;
+import com.gederin.util.RequestKeys;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collapses identical concurrent GETs into one upstream call. The first request is routed as usual and its
+ * response is published by {@link RequestCoalescingCompletionFilter}; requests arriving meanwhile wait for it
+ * instead of being routed. Requests beyond the waiter cap, and waiters of a response that cannot be shared,
+ * are routed on their own. When the shared call fails or times out its waiters fail fast with 503 or 504
+ * rather than all going upstream at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescingFilter extends ZuulFilter {
+    public static final String COALESCED_HEADER = "X-Coalesced";
+
+    // After ResponseCacheFilter, so cache hits are never coalesced, and after RateLimitFilter
+    private static final int FILTER_ORDER = FilterConstants.PRE_DECORATION_FILTER_ORDER + 7;
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescingFilter.class);
+
+    private final CoalescingProperties properties;
+
+    private final InflightRequests inflightRequests;
+
+    private final CoalescingTimeouts timeouts;
+
+    private final MeterRegistry meterRegistry;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+
+        return properties.isEnabled()
+                && ctx.sendZuulResponse()
+                && HttpMethod.GET.matches(ctx.getRequest().getMethod())
+                && properties.getRoutes().containsKey(ctx.get(FilterConstants.PROXY_KEY));
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String route = (String) ctx.get(FilterConstants.PROXY_KEY);
+
+        if (!matches(properties.getRoutes().get(route), (String) ctx.get(FilterConstants.REQUEST_URI_KEY))) {
+            return null;
+        }
+
+        InflightRequests.Call call = new InflightRequests.Call(RequestKeys.of(ctx, route, properties.getVaryHeaders()),
+                timeouts.timeoutNanos((String) ctx.get(FilterConstants.SERVICE_ID_KEY)));
+        InflightRequests.Call current = inflightRequests.join(call);
+
+        if (current == call) {
+            ctx.set(FilterUtils.COALESCING_CALL, call);
+            count(route, "leader");
+            return null;
+        }
+
+        if (!current.tryEnter(properties.getMaxWaiters())) {
+            count(route, "overflow");
+            return null;
+        }
+
+        try {
+            write(ctx, current.await());
+            count(route, "coalesced");
+        } catch (TimeoutException e) {
+            reject(ctx, HttpStatus.GATEWAY_TIMEOUT);
+            count(route, "timeout");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResponseNotSharedException) {
+                count(route, "unshared");
+            } else if (e.getCause() instanceof TimeoutException) {
+                reject(ctx, HttpStatus.GATEWAY_TIMEOUT);
+                count(route, "timeout");
+            } else {
+                logger.debug("Coalesced call on route {} failed: {}", route, e.getCause().toString());
+                reject(ctx, HttpStatus.SERVICE_UNAVAILABLE);
+                count(route, "failed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            current.leave();
+        }
+
+        return null;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        return path != null && patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static void write(RequestContext ctx, CoalescedResponse response) {
+        ctx.set(FilterUtils.COALESCED, true);
+        ctx.setSendZuulResponse(false);
+        response.getHeaders().forEach(header -> ctx.addZuulResponseHeader(header.first(), header.second()));
+        ctx.addZuulResponseHeader(COALESCED_HEADER, "true");
+        ctx.setResponseStatusCode(response.getStatus());
+        ctx.setResponseGZipped(response.isGzipped());
+        ctx.setOriginContentLength((long) response.getBody().length);
+        ctx.setResponseDataStream(new ByteArrayInputStream(response.getBody()));
+    }
+
+    private static void reject(RequestContext ctx, HttpStatus status) {
+        ctx.setSendZuulResponse(false);
+        ctx.setResponseStatusCode(status.value());
+        ctx.addZuulResponseHeader(COALESCED_HEADER, "failed");
+    }
+
+    private void count(String route, String outcome) {
+        counters.computeIfAbsent(route + ':' + outcome, key -> Counter.builder("gateway.coalescing.requests")
+                .description("Requests seen by the gateway request coalescing")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+                .increment();
+    }
+}
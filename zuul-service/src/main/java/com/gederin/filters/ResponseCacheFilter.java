@@ -0,0 +1,114 @@
+package com.gederin.filters;
+
+import com.gederin.cache.CachedResponse;
+import com.gederin.cache.ResponseCache;
+import com.gederin.cache.ResponseCacheProperties;
+import com.gederin.util.FilterUtils;
+import com.gederin.util.RequestKeys;
+import com.gederin.util.ResponseBodies;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.io.ByteArrayInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers cacheable GETs from {@link ResponseCache} without routing them upstream. Runs after
+ * PreDecorationFilter, which resolves the route. Misses are stored by {@link ResponseCacheStoreFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends ZuulFilter {
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final int FILTER_ORDER = FilterConstants.PRE_DECORATION_FILTER_ORDER + 5;
+    private static final String NO_CACHE = "no-cache";
+
+    private final ResponseCache responseCache;
+
+    private final ResponseCacheProperties properties;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+
+        return properties.isEnabled()
+                && ctx.sendZuulResponse()
+                && HttpMethod.GET.matches(ctx.getRequest().getMethod())
+                && properties.getRoutes().containsKey(ctx.get(FilterConstants.PROXY_KEY));
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        HttpServletRequest request = ctx.getRequest();
+        String route = (String) ctx.get(FilterConstants.PROXY_KEY);
+        ResponseCacheProperties.Route config = properties.getRoutes().get(route);
+
+        if (!matches(config, (String) ctx.get(FilterConstants.REQUEST_URI_KEY))) {
+            return null;
+        }
+
+        String key = RequestKeys.of(ctx, route, properties.getVaryHeaders());
+        ctx.set(FilterUtils.RESPONSE_CACHE_KEY, key);
+        ctx.set(FilterUtils.RESPONSE_CACHE_TTL, config.getTtl());
+
+        // The client asked for revalidation, go upstream and refresh the entry
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && cacheControl.contains(NO_CACHE)) {
+            return null;
+        }
+
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            ctx.set(FilterUtils.RESPONSE_CACHE_HIT, true);
+            ctx.setSendZuulResponse(false);
+            write(ctx, cached);
+        }
+
+        return null;
+    }
+
+    private boolean matches(ResponseCacheProperties.Route config, String path) {
+        return path != null && config.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static void write(RequestContext ctx, CachedResponse cached) {
+        cached.getHeaders().forEach(header -> ctx.addZuulResponseHeader(header.first(), header.second()));
+        ctx.addZuulResponseHeader(HttpHeaders.ETAG, cached.getEtag());
+        ctx.addZuulResponseHeader(CACHE_STATUS_HEADER, "HIT");
+
+        if (ResponseBodies.etagMatches(ctx.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH), cached.getEtag())) {
+            ctx.setResponseStatusCode(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        ctx.setResponseStatusCode(cached.getStatus());
+        ctx.setResponseGZipped(cached.isGzipped());
+        ctx.setOriginContentLength((long) cached.getBody().length);
+        ctx.setResponseDataStream(new ByteArrayInputStream(cached.getBody()));
+    }
+}
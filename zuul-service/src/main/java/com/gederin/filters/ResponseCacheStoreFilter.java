@@ -0,0 +1,123 @@
+package com.gederin.filters;
+
+import com.gederin.cache.CachedResponse;
+import com.gederin.cache.ResponseCache;
+import com.gederin.cache.ResponseCacheProperties;
+import com.gederin.util.FilterUtils;
+import com.gederin.util.ResponseBodies;
+import com.netflix.util.Pair;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.netflix.zuul.exception.ZuulException;
+
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stores successful upstream responses for the keys computed by {@link ResponseCacheFilter}, and adds an ETag
+ * when the upstream service did not send one.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheStoreFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = FilterConstants.SEND_RESPONSE_FILTER_ORDER - 10;
+
+    private final ResponseCache responseCache;
+
+    private final ResponseCacheProperties properties;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+
+        return ctx.get(FilterUtils.RESPONSE_CACHE_KEY) != null
+                && !ctx.getBoolean(FilterUtils.RESPONSE_CACHE_HIT)
+                && ctx.getThrowable() == null
+                && ctx.getResponseStatusCode() == HttpStatus.OK.value()
+                && ctx.getResponseDataStream() != null;
+    }
+
+    @Override
+    public Object run() throws ZuulException {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        ctx.addZuulResponseHeader(ResponseCacheFilter.CACHE_STATUS_HEADER, "MISS");
+
+        if (!isStorable(ctx)) {
+            return null;
+        }
+
+        byte[] body;
+        try {
+            body = ResponseBodies.buffer(ctx, properties.getMaxEntryBytes());
+        } catch (IOException e) {
+            throw new ZuulException(e, HttpStatus.BAD_GATEWAY.value(), e.getMessage());
+        }
+
+        if (body == null) {
+            return null;
+        }
+
+        String etag = upstreamHeader(ctx, HttpHeaders.ETAG);
+        if (etag == null) {
+            etag = '"' + DigestUtils.md5DigestAsHex(body) + '"';
+            ctx.addZuulResponseHeader(HttpHeaders.ETAG, etag);
+        }
+
+        // The entity tag is stored separately and added on every hit
+        List<Pair<String, String>> headers = ResponseBodies.replayableHeaders(ctx).stream()
+                .filter(header -> !HttpHeaders.ETAG.equalsIgnoreCase(header.first()))
+                .collect(Collectors.toList());
+        Duration ttl = (Duration) ctx.get(FilterUtils.RESPONSE_CACHE_TTL);
+
+        responseCache.put((String) ctx.get(FilterUtils.RESPONSE_CACHE_KEY), new CachedResponse(
+                HttpStatus.OK.value(), headers, body, ctx.getResponseGZipped(), etag, ttl.toNanos()));
+
+        if (ResponseBodies.etagMatches(ctx.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            ctx.setResponseStatusCode(HttpStatus.NOT_MODIFIED.value());
+            ctx.setResponseDataStream(null);
+            ctx.setOriginContentLength((Long) null);
+        }
+
+        return null;
+    }
+
+    private static boolean isStorable(RequestContext ctx) {
+        String cacheControl = upstreamHeader(ctx, HttpHeaders.CACHE_CONTROL);
+
+        if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+            return false;
+        }
+
+        return upstreamHeader(ctx, HttpHeaders.SET_COOKIE) == null && !"*".equals(upstreamHeader(ctx, HttpHeaders.VARY));
+    }
+
+    private static String upstreamHeader(RequestContext ctx, String name) {
+        for (Pair<String, String> header : ctx.getOriginResponseHeaders()) {
+            if (header.first().equalsIgnoreCase(name)) {
+                return header.second();
+            }
+        }
+
+        return null;
+    }
+}
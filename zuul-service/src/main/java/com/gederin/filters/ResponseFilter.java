@@ -6,10 +6,15 @@ import com.netflix.zuul.context.RequestContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 import lombok.RequiredArgsConstructor;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Component
 @RequiredArgsConstructor
 public class ResponseFilter extends ZuulFilter{
@@ -39,10 +44,17 @@ public class ResponseFilter extends ZuulFilter{
     public Object run() {
         RequestContext ctx = RequestContext.getCurrentContext();
 
-        System.out.println("Adding the correlation id to the outbound headers: " + filterUtils.getCorrelationId());
-        ctx.getResponse().addHeader(FilterUtils.CORRELATION_ID, filterUtils.getCorrelationId());
+        ctx.getResponse().addHeader(FilterUtils.CORRELATION_ID, filterUtils.getRequestHeaders(ctx).getCorrelationId());
+
+        if (logger.isInfoEnabled()) {
+            Long start = (Long) ctx.get(FilterUtils.REQUEST_START_TIME);
 
-        System.out.println("Completing outgoing request for " + ctx.getRequest().getRequestURI());
+            logger.info("Completed request {} {} {} {}",
+                    kv("route", ctx.get(FilterConstants.PROXY_KEY)),
+                    kv("uri", ctx.getRequest().getRequestURI()),
+                    kv("status", ctx.getResponseStatusCode()),
+                    kv("latency_ms", start == null ? null : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
 
         return null;
     }
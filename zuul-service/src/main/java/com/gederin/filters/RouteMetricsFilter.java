@@ -0,0 +1,121 @@
+package com.gederin.filters;
+
+import com.gederin.util.FilterUtils;
+import com.netflix.client.IResponse;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.netflix.zuul.exception.ZuulException;
+
+import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records a latency timer per route, upstream instance and status class. Runs after
+ * SendResponseFilter so the time spent streaming the body back to the caller is included.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsFilter extends ZuulFilter {
+    public static final String METRIC_NAME = "gateway.requests";
+
+    private static final int FILTER_ORDER = FilterConstants.SEND_RESPONSE_FILTER_ORDER + 1;
+    private static final boolean SHOULD_FILTER = true;
+    private static final String RIBBON_RESPONSE_KEY = "ribbonResponse";
+    private static final String UNKNOWN = "none";
+    private static final String CACHE = "cache";
+    private static final String COALESCED = "coalesced";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return SHOULD_FILTER;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        Long start = (Long) ctx.get(FilterUtils.REQUEST_START_TIME);
+
+        if (start == null) {
+            return null;
+        }
+
+        String route = ctx.get(FilterConstants.PROXY_KEY) == null ? "unmatched" : ctx.get(FilterConstants.PROXY_KEY).toString();
+        String instance = upstreamInstance(ctx);
+        String status = statusClass(ctx);
+
+        timer(route, instance, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return null;
+    }
+
+    private Timer timer(String route, String instance, String status) {
+        return timers.computeIfAbsent(route + '|' + instance + '|' + status, key -> Timer.builder(METRIC_NAME)
+                .description("Requests proxied by the gateway")
+                .tag("route", route)
+                .tag("instance", instance)
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    private static String upstreamInstance(RequestContext ctx) {
+        if (ctx.getBoolean(FilterUtils.RESPONSE_CACHE_HIT)) {
+            return CACHE;
+        }
+        if (ctx.getBoolean(FilterUtils.COALESCED)) {
+            return COALESCED;
+        }
+
+        Object response = ctx.get(RIBBON_RESPONSE_KEY);
+
+        if (response instanceof IResponse) {
+            URI uri = ((IResponse) response).getRequestedURI();
+
+            if (uri != null && uri.getAuthority() != null) {
+                return uri.getAuthority();
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    private static String statusClass(RequestContext ctx) {
+        int status = ctx.getResponseStatusCode();
+        Throwable throwable = ctx.getThrowable();
+
+        if (throwable instanceof ZuulException) {
+            status = ((ZuulException) throwable).nStatusCode;
+        } else if (throwable != null) {
+            status = 500;
+        }
+
+        return status / 100 + "xx";
+    }
+}
@@ -3,13 +3,13 @@ package com.gederin.filters;
 import com.gederin.util.FilterUtils;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
+import com.rgederin.common.tracing.CorrelationIds;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
 import lombok.RequiredArgsConstructor;
 
 @Component
@@ -58,27 +58,26 @@ public class TrackingFilter extends ZuulFilter {
      * In your run() function, you check to see if the correlation-id is present
      * and if it isn’t, you generate a correlation value and set the correlation-id HTTP
      */
-    private boolean isCorrelationIdPresent() {
-        return filterUtils.getCorrelationId() != null;
-
-    }
-
-    private String generateCorrelationId() {
-        return UUID.randomUUID().toString();
-    }
-
     @Override
     public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        ctx.set(FilterUtils.REQUEST_START_TIME, System.nanoTime());
+
+        String correlationId = filterUtils.getRequestHeaders(ctx).getCorrelationId();
 
-        if (isCorrelationIdPresent()) {
-            logger.debug("correlation-id found in tracking filter: {}. ", filterUtils.getCorrelationId());
+        if (correlationId != null) {
+            logger.debug("correlation-id found in tracking filter: {}. ", correlationId);
         } else {
-            filterUtils.setCorrelationId(generateCorrelationId());
-            logger.debug("correlation-id generated in tracking filter: {}.", filterUtils.getCorrelationId());
+            correlationId = CorrelationIds.next();
+
+            filterUtils.setCorrelationId(correlationId);
+            MDC.put(FilterUtils.CORRELATION_ID, correlationId);
+            logger.debug("correlation-id generated in tracking filter: {}.", correlationId);
         }
 
-        RequestContext ctx = RequestContext.getCurrentContext();
-        logger.debug("Processing incoming request for {}.", ctx.getRequest().getRequestURI());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processing incoming request for {}.", ctx.getRequest().getRequestURI());
+        }
 
         return null;
     }
@@ -0,0 +1,35 @@
+package com.gederin.http2;
+
+import com.rgederin.common.http2.Http2Clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+/**
+ * Routes requests to the services over cleartext HTTP/2 (h2c with prior knowledge), which requires
+ * http2.server.enabled on every routed service. The Ribbon OkHttp clients pick up this OkHttpClient and
+ * derive their per-service timeouts from it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.http2.enabled", havingValue = "true")
+public class Http2Configuration {
+    private static final String CLIENT_NAME = "zuul";
+
+    @Bean
+    public ConnectionPool http2ConnectionPool(@Value("${gateway.http2.max-idle-connections:5}") int maxIdleConnections,
+                                              @Value("${gateway.http2.keep-alive-seconds:300}") long keepAliveSeconds,
+                                              MeterRegistry meterRegistry) {
+        return Http2Clients.connectionPool(CLIENT_NAME, maxIdleConnections, keepAliveSeconds, meterRegistry);
+    }
+
+    @Bean
+    public OkHttpClient http2Client(ConnectionPool http2ConnectionPool, MeterRegistry meterRegistry) {
+        return Http2Clients.client(CLIENT_NAME, http2ConnectionPool, meterRegistry);
+    }
+}
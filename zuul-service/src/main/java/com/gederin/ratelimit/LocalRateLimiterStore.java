@@ -0,0 +1,71 @@
+package com.gederin.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process buckets updated with a compare-and-set loop, no locks are taken on the request path.
+ * Limits only hold per gateway instance. Idle buckets are dropped after ten minutes.
+ */
+public class LocalRateLimiterStore implements RateLimiterStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public LocalRateLimiterStore(long maxBuckets) {
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .maximumSize(maxBuckets)
+                .build();
+    }
+
+    @Override
+    public long[] tryAcquire(List<String> keys, List<Quota> quotas) {
+        int size = keys.size();
+        AtomicLong[] theoreticalArrivals = new AtomicLong[size];
+
+        for (int i = 0; i < size; i++) {
+            theoreticalArrivals[i] = buckets.get(keys.get(i), k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        while (true) {
+            long now = System.nanoTime();
+            long[] current = new long[size];
+            long[] next = new long[size];
+            long[] waits = new long[size];
+            boolean rejected = false;
+
+            for (int i = 0; i < size; i++) {
+                long interval = quotas.get(i).emissionIntervalNanos();
+                long tolerance = interval * quotas.get(i).getBurst();
+
+                current[i] = theoreticalArrivals[i].get();
+                next[i] = (current[i] == Long.MIN_VALUE || current[i] - now < 0 ? now : current[i]) + interval;
+                waits[i] = Math.max(0, next[i] - now - tolerance);
+                rejected |= waits[i] > 0;
+            }
+
+            // Nothing is taken unless every bucket admits the request
+            if (rejected || compareAndSetAll(theoreticalArrivals, current, next, quotas)) {
+                return waits;
+            }
+        }
+    }
+
+    private static boolean compareAndSetAll(AtomicLong[] theoreticalArrivals, long[] current, long[] next,
+                                            List<Quota> quotas) {
+        for (int i = 0; i < theoreticalArrivals.length; i++) {
+            if (!theoreticalArrivals[i].compareAndSet(current[i], next[i])) {
+                // Another request changed this bucket, give back the requests taken from the previous ones
+                for (int j = 0; j < i; j++) {
+                    theoreticalArrivals[j].addAndGet(-quotas.get(j).emissionIntervalNanos());
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.gederin.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+
+/**
+ * Token bucket quota: a sustained rate in requests per second and the burst admitted on top of it.
+ */
+@Data
+public class Quota {
+    private double rate;
+
+    private int burst = 1;
+
+    public boolean isUnlimited() {
+        return rate <= 0;
+    }
+
+    /**
+     * Nanoseconds between two requests at the sustained rate.
+     */
+    public long emissionIntervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+}
@@ -0,0 +1,23 @@
+package com.gederin.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class RateLimitConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "gateway.ratelimit.store", havingValue = "local", matchIfMissing = true)
+    public RateLimiterStore localRateLimiterStore(@Value("${gateway.ratelimit.max-buckets:100000}") long maxBuckets) {
+        return new LocalRateLimiterStore(maxBuckets);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "gateway.ratelimit.store", havingValue = "redis")
+    public RateLimiterStore redisRateLimiterStore(StringRedisTemplate redisTemplate) {
+        return new RedisRateLimiterStore(redisTemplate);
+    }
+}
@@ -0,0 +1,59 @@
+package com.gederin.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Quotas of the gateway rate limiter. Every request is checked against an org-id bucket and a user-id bucket
+ * of its route. Tenant overrides take precedence over the route quotas, which take precedence over the defaults.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.ratelimit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    /**
+     * local keeps the buckets in this gateway instance, redis shares them between all instances.
+     */
+    private String store = "local";
+
+    private Quota defaultOrg = new Quota();
+
+    private Quota defaultUser = new Quota();
+
+    private Map<String, RouteQuotas> routes = new HashMap<>();
+
+    /**
+     * Per org-id quotas, applied on every route.
+     */
+    private Map<String, Quota> tenants = new HashMap<>();
+
+    public Quota orgQuota(String route, String orgId) {
+        Quota tenant = tenants.get(orgId);
+
+        if (tenant != null) {
+            return tenant;
+        }
+
+        RouteQuotas routeQuotas = routes.get(route);
+        return routeQuotas != null && routeQuotas.getOrg() != null ? routeQuotas.getOrg() : defaultOrg;
+    }
+
+    public Quota userQuota(String route) {
+        RouteQuotas routeQuotas = routes.get(route);
+        return routeQuotas != null && routeQuotas.getUser() != null ? routeQuotas.getUser() : defaultUser;
+    }
+
+    @Data
+    public static class RouteQuotas {
+        private Quota org;
+
+        private Quota user;
+    }
+}
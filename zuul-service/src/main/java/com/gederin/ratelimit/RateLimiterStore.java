@@ -0,0 +1,17 @@
+package com.gederin.ratelimit;
+
+import java.util.List;
+
+/**
+ * Holds the state of the rate limiter buckets. Implementations use GCRA, so a bucket is a single
+ * theoretical arrival time instead of a token count and a refill timestamp.
+ */
+public interface RateLimiterStore {
+
+    /**
+     * Takes one request from each of the buckets of the given keys, or from none of them when any rejects it.
+     *
+     * @return per key, 0 when its bucket admits the request, otherwise the nanoseconds after which it would
+     */
+    long[] tryAcquire(List<String> keys, List<Quota> quotas);
+}
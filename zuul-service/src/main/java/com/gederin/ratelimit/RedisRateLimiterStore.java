@@ -0,0 +1,71 @@
+package com.gederin.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buckets shared by all gateway instances. The GCRA step runs as a Lua script against the Redis clock,
+ * so one round trip per request and no clock skew between gateway nodes. All buckets of a request are
+ * checked before any is updated.
+ */
+public class RedisRateLimiterStore implements RateLimiterStore {
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GCRA = new DefaultRedisScript<>(
+            "redis.replicate_commands()\n"
+                    + "local time = redis.call('TIME')\n"
+                    + "local now = tonumber(time[1]) * 1000000 + tonumber(time[2])\n"
+                    + "local waits = {}\n"
+                    + "local nexts = {}\n"
+                    + "local rejected = false\n"
+                    + "for i, key in ipairs(KEYS) do\n"
+                    + "  local interval = tonumber(ARGV[2 * i - 1])\n"
+                    + "  local tolerance = tonumber(ARGV[2 * i])\n"
+                    + "  local tat = tonumber(redis.call('GET', key) or now)\n"
+                    + "  if tat < now then tat = now end\n"
+                    + "  nexts[i] = tat + interval\n"
+                    + "  waits[i] = math.max(0, nexts[i] - now - tolerance)\n"
+                    + "  if waits[i] > 0 then rejected = true end\n"
+                    + "end\n"
+                    + "if not rejected then\n"
+                    + "  for i, key in ipairs(KEYS) do\n"
+                    + "    redis.call('SET', key, nexts[i], 'PX', math.ceil((nexts[i] - now) / 1000) + 1)\n"
+                    + "  end\n"
+                    + "end\n"
+                    + "return waits\n",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRateLimiterStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long[] tryAcquire(List<String> keys, List<Quota> quotas) {
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        List<String> args = new ArrayList<>(keys.size() * 2);
+
+        for (int i = 0; i < keys.size(); i++) {
+            long intervalMicros = TimeUnit.NANOSECONDS.toMicros(quotas.get(i).emissionIntervalNanos());
+
+            redisKeys.add(KEY_PREFIX + keys.get(i));
+            args.add(Long.toString(intervalMicros));
+            args.add(Long.toString(intervalMicros * quotas.get(i).getBurst()));
+        }
+
+        List<?> waitMicros = redisTemplate.execute(GCRA, redisKeys, args.toArray());
+        long[] waits = new long[keys.size()];
+
+        for (int i = 0; waitMicros != null && i < waits.length; i++) {
+            waits[i] = TimeUnit.MICROSECONDS.toNanos(((Number) waitMicros.get(i)).longValue());
+        }
+        return waits;
+    }
+}
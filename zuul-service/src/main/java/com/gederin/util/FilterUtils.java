@@ -14,53 +14,63 @@ public class FilterUtils {
     public static final String PRE_FILTER_TYPE = "pre";
     public static final String POST_FILTER_TYPE = "post";
     public static final String ROUTE_FILTER_TYPE = "route";
+    public static final String REQUEST_START_TIME = "requestStartTime";
+    public static final String REQUEST_HEADERS = "requestHeaders";
+    public static final String RESPONSE_CACHE_KEY = "responseCacheKey";
+    public static final String RESPONSE_CACHE_TTL = "responseCacheTtl";
+    public static final String RESPONSE_CACHE_HIT = "responseCacheHit";
+    public static final String COALESCING_CALL = "coalescingCall";
+    public static final String COALESCED = "coalesced";
 
-    public String getCorrelationId() {
-        RequestContext ctx = RequestContext.getCurrentContext();
+    /**
+     * Returns the user context headers of the current request, resolving them on the first call.
+     */
+    public RequestHeaders getRequestHeaders() {
+        return getRequestHeaders(RequestContext.getCurrentContext());
+    }
 
-        if (ctx.getRequest().getHeader(CORRELATION_ID) != null) {
-            return ctx.getRequest().getHeader(CORRELATION_ID);
-        } else {
-            return ctx.getZuulRequestHeaders().get(CORRELATION_ID);
+    public RequestHeaders getRequestHeaders(RequestContext ctx) {
+        RequestHeaders headers = (RequestHeaders) ctx.get(REQUEST_HEADERS);
+
+        if (headers == null) {
+            headers = RequestHeaders.resolve(ctx);
+            ctx.set(REQUEST_HEADERS, headers);
         }
+        return headers;
+    }
+
+    public String getCorrelationId() {
+        return getRequestHeaders().getCorrelationId();
     }
 
     public void setCorrelationId(String correlationId) {
         RequestContext ctx = RequestContext.getCurrentContext();
         ctx.addZuulRequestHeader(CORRELATION_ID, correlationId);
+        getRequestHeaders(ctx).setCorrelationId(correlationId);
     }
 
     public final String getOrgId() {
-        RequestContext ctx = RequestContext.getCurrentContext();
-        if (ctx.getRequest().getHeader(ORG_ID) != null) {
-            return ctx.getRequest().getHeader(ORG_ID);
-        } else {
-            return ctx.getZuulRequestHeaders().get(ORG_ID);
-        }
+        return getRequestHeaders().getOrgId();
     }
 
     public void setOrgId(String orgId) {
         RequestContext ctx = RequestContext.getCurrentContext();
         ctx.addZuulRequestHeader(ORG_ID, orgId);
+        getRequestHeaders(ctx).setOrgId(orgId);
     }
 
     public final String getUserId() {
-        RequestContext ctx = RequestContext.getCurrentContext();
-        if (ctx.getRequest().getHeader(USER_ID) != null) {
-            return ctx.getRequest().getHeader(USER_ID);
-        } else {
-            return ctx.getZuulRequestHeaders().get(USER_ID);
-        }
+        return getRequestHeaders().getUserId();
     }
 
     public void setUserId(String userId) {
         RequestContext ctx = RequestContext.getCurrentContext();
         ctx.addZuulRequestHeader(USER_ID, userId);
+        getRequestHeaders(ctx).setUserId(userId);
     }
 
     public final String getAuthToken() {
-        RequestContext ctx = RequestContext.getCurrentContext();
-        return ctx.getRequest().getHeader(AUTH_TOKEN);
+        return getRequestHeaders().getAuthToken();
     }
 
     public String getServiceId() {
@@ -0,0 +1,38 @@
+package com.gederin.util;
+
+import com.netflix.zuul.context.RequestContext;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The user context headers of a request, resolved once and kept in the {@link RequestContext}
+ * so the filters do not repeat the header lookups. Use {@link FilterUtils#getRequestHeaders()} to obtain it.
+ */
+@Getter
+@Setter
+public class RequestHeaders {
+    private String correlationId;
+
+    private String orgId;
+
+    private String userId;
+
+    private String authToken;
+
+    static RequestHeaders resolve(RequestContext ctx) {
+        RequestHeaders headers = new RequestHeaders();
+
+        headers.correlationId = header(ctx, FilterUtils.CORRELATION_ID);
+        headers.orgId = header(ctx, FilterUtils.ORG_ID);
+        headers.userId = header(ctx, FilterUtils.USER_ID);
+        headers.authToken = ctx.getRequest().getHeader(FilterUtils.AUTH_TOKEN);
+
+        return headers;
+    }
+
+    private static String header(RequestContext ctx, String name) {
+        String value = ctx.getRequest().getHeader(name);
+        return value != null ? value : ctx.getZuulRequestHeaders().get(name);
+    }
+}
@@ -0,0 +1,41 @@
+package com.gederin.util;
+
+import com.netflix.zuul.context.RequestContext;
+
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Builds keys that identify equivalent requests: the route id, the request URI with its query string
+ * and the values of the given headers, separated by spaces.
+ */
+public final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    public static String of(RequestContext ctx, String route, List<String> headers) {
+        HttpServletRequest request = ctx.getRequest();
+        StringBuilder key = new StringBuilder(route).append(' ').append(request.getRequestURI());
+
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+
+        key.append(' ');
+
+        for (String header : headers) {
+            String value = request.getHeader(header);
+
+            // Zuul request headers are stored lower case, e.g. the org-id added by a pre filter
+            if (value == null) {
+                value = ctx.getZuulRequestHeaders().get(header.toLowerCase());
+            }
+
+            key.append(value == null ? "" : value).append('|');
+        }
+
+        return key.toString();
+    }
+}
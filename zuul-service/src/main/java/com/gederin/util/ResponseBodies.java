@@ -0,0 +1,98 @@
+package com.gederin.util;
+
+import com.netflix.util.Pair;
+import com.netflix.zuul.context.RequestContext;
+
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for filters that need the upstream body in memory before SendResponseFilter writes it.
+ */
+public final class ResponseBodies {
+    private static final int BUFFER_SIZE = 8192;
+
+    // Per-request or hop-by-hop headers that must not be replayed to another caller
+    private static final Set<String> PER_REQUEST_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "content-encoding", "date", "transfer-encoding", "x-cache",
+            FilterUtils.CORRELATION_ID));
+
+    private ResponseBodies() {
+    }
+
+    /**
+     * Reads the upstream body of the current request into memory and puts a replayable stream back into
+     * the context. The bytes are returned as received, so a gzipped body stays gzipped
+     * (see {@link RequestContext#getResponseGZipped()}). Returns null without consuming the body
+     * when it is larger than maxBytes.
+     */
+    public static byte[] buffer(RequestContext ctx, int maxBytes) throws IOException {
+        InputStream upstream = ctx.getResponseDataStream();
+
+        if (upstream == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream(Math.min(maxBytes + 1, BUFFER_SIZE));
+        byte[] chunk = new byte[BUFFER_SIZE];
+        int read;
+
+        while (buffered.size() <= maxBytes && (read = upstream.read(chunk)) != -1) {
+            buffered.write(chunk, 0, read);
+        }
+
+        byte[] body = buffered.toByteArray();
+
+        if (body.length > maxBytes) {
+            ctx.setResponseDataStream(new SequenceInputStream(new ByteArrayInputStream(body), upstream));
+            return null;
+        }
+
+        ctx.setResponseDataStream(new ByteArrayInputStream(body));
+
+        return body;
+    }
+
+    /**
+     * Returns the upstream response headers of the current request that can be sent along with the same body
+     * in answer to another request.
+     */
+    public static List<Pair<String, String>> replayableHeaders(RequestContext ctx) {
+        return ctx.getZuulResponseHeaders().stream()
+                .filter(header -> !PER_REQUEST_HEADERS.contains(header.first().toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Evaluates an If-None-Match header against an entity tag, using the weak comparison of RFC 7232.
+     */
+    public static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            String trimmed = candidate.trim();
+
+            if ("*".equals(trimmed) || opaqueTag(trimmed).equals(opaqueTag(etag))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -2,6 +2,7 @@ package com.gederin.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -24,15 +25,29 @@ public class UserContextFilter implements Filter {
 
 
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        UserContext userContext = UserContextHolder.getContext();
+
+        userContext.setCorrelationId(httpServletRequest.getHeader(UserContext.CORRELATION_ID));
+        userContext.setUserId(httpServletRequest.getHeader(UserContext.USER_ID));
+        userContext.setAuthToken(httpServletRequest.getHeader(UserContext.AUTH_TOKEN));
+        userContext.setOrgId(httpServletRequest.getHeader(UserContext.ORG_ID));
+
+        // The correlation id is added by TrackingFilter when the caller did not send one
+        putMdc(UserContext.CORRELATION_ID, userContext.getCorrelationId());
+        putMdc(UserContext.USER_ID, userContext.getUserId());
+        putMdc(UserContext.ORG_ID, userContext.getOrgId());
+
+        try {
+            filterChain.doFilter(httpServletRequest, servletResponse);
+        } finally {
+            MDC.clear();
+        }
+    }
 
-        UserContextHolder.getContext().setCorrelationId(  httpServletRequest.getHeader(UserContext.CORRELATION_ID) );
-        UserContextHolder.getContext().setUserId(httpServletRequest.getHeader(UserContext.USER_ID));
-        UserContextHolder.getContext().setAuthToken(httpServletRequest.getHeader(UserContext.AUTH_TOKEN));
-        UserContextHolder.getContext().setOrgId(httpServletRequest.getHeader(UserContext.ORG_ID));
-
-        System.out.println("Special Routes Service Incoming Correlation id: "  +  UserContextHolder.getContext().getCorrelationId());
-
-        filterChain.doFilter(httpServletRequest, servletResponse);
+    private static void putMdc(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
     }
 
     @Override
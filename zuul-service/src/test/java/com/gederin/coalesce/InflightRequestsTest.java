@@ -0,0 +1,121 @@
+package com.gederin.coalesce;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InflightRequestsTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final InflightRequests inflightRequests = new InflightRequests();
+
+    @Test
+    public void firstCallLeadsAndLaterCallsJoinIt() {
+        InflightRequests.Call leader = new InflightRequests.Call("key", TIMEOUT_NANOS);
+
+        assertSame(leader, inflightRequests.join(leader));
+        assertSame(leader, inflightRequests.join(new InflightRequests.Call("key", TIMEOUT_NANOS)));
+        assertEquals(1, inflightRequests.size());
+    }
+
+    @Test
+    public void callsWithOtherKeysLeadTheirOwn() {
+        InflightRequests.Call first = new InflightRequests.Call("first", TIMEOUT_NANOS);
+        InflightRequests.Call second = new InflightRequests.Call("second", TIMEOUT_NANOS);
+
+        assertSame(first, inflightRequests.join(first));
+        assertSame(second, inflightRequests.join(second));
+        assertEquals(2, inflightRequests.size());
+    }
+
+    @Test
+    public void completeHandsResponseToWaitersAndRemovesCall() throws Exception {
+        InflightRequests.Call leader = new InflightRequests.Call("key", TIMEOUT_NANOS);
+        inflightRequests.join(leader);
+        CoalescedResponse response = new CoalescedResponse(200, Collections.emptyList(), new byte[]{1}, false);
+
+        inflightRequests.complete(leader, response);
+
+        assertSame(response, leader.await());
+        assertEquals(0, inflightRequests.size());
+    }
+
+    @Test
+    public void failPassesCauseToWaitersAndRemovesCall() throws Exception {
+        InflightRequests.Call leader = new InflightRequests.Call("key", TIMEOUT_NANOS);
+        inflightRequests.join(leader);
+        IllegalStateException cause = new IllegalStateException("upstream failed");
+
+        inflightRequests.fail(leader, cause);
+
+        try {
+            leader.await();
+            fail("Expected the call to fail");
+        } catch (ExecutionException e) {
+            assertSame(cause, e.getCause());
+        }
+        assertEquals(0, inflightRequests.size());
+    }
+
+    @Test
+    public void staleCallIsReplacedAndFailed() throws Exception {
+        InflightRequests.Call stale = new InflightRequests.Call("key", 0);
+        inflightRequests.join(stale);
+        TimeUnit.MILLISECONDS.sleep(1);
+
+        InflightRequests.Call replacement = new InflightRequests.Call("key", TIMEOUT_NANOS);
+
+        assertSame(replacement, inflightRequests.join(replacement));
+        assertEquals(1, inflightRequests.size());
+
+        try {
+            stale.await();
+            fail("Expected the stale call to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void awaitTimesOutWithTheCall() throws Exception {
+        InflightRequests.Call leader = new InflightRequests.Call("key", TimeUnit.MILLISECONDS.toNanos(10));
+        inflightRequests.join(leader);
+
+        leader.await();
+    }
+
+    @Test
+    public void waitersAreCapped() {
+        InflightRequests.Call call = new InflightRequests.Call("key", TIMEOUT_NANOS);
+
+        assertTrue(call.tryEnter(2));
+        assertTrue(call.tryEnter(2));
+        assertFalse(call.tryEnter(2));
+        assertEquals(2, call.getWaiters());
+
+        call.leave();
+
+        assertTrue(call.tryEnter(2));
+    }
+
+    @Test
+    public void completingReplacedCallKeepsReplacement() {
+        InflightRequests.Call stale = new InflightRequests.Call("key", 0);
+        inflightRequests.join(stale);
+        InflightRequests.Call replacement = new InflightRequests.Call("key", TIMEOUT_NANOS);
+        inflightRequests.join(replacement);
+
+        inflightRequests.complete(stale, new CoalescedResponse(200, Collections.emptyList(), new byte[0], false));
+
+        assertSame(replacement, inflightRequests.join(new InflightRequests.Call("key", TIMEOUT_NANOS)));
+    }
+}
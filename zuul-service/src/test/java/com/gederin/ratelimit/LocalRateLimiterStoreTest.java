@@ -0,0 +1,48 @@
+package com.gederin.ratelimit;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LocalRateLimiterStoreTest {
+    private static final String ORG = "licensingservice:org:1";
+    private static final String USER = "licensingservice:user:1";
+
+    private final LocalRateLimiterStore store = new LocalRateLimiterStore(100);
+
+    @Test
+    public void admitsUpToTheBurst() {
+        Quota quota = quota(2);
+
+        assertEquals(0, store.tryAcquire(Collections.singletonList(ORG), Collections.singletonList(quota))[0]);
+        assertEquals(0, store.tryAcquire(Collections.singletonList(ORG), Collections.singletonList(quota))[0]);
+        assertTrue(store.tryAcquire(Collections.singletonList(ORG), Collections.singletonList(quota))[0] > 0);
+    }
+
+    @Test
+    public void rejectionByOneBucketTakesNothingFromTheOthers() {
+        List<String> keys = Arrays.asList(ORG, USER);
+        List<Quota> quotas = Arrays.asList(quota(2), quota(1));
+
+        assertEquals(Arrays.toString(new long[]{0, 0}), Arrays.toString(store.tryAcquire(keys, quotas)));
+
+        long[] waits = store.tryAcquire(keys, quotas);
+        assertEquals(0, waits[0]);
+        assertTrue(waits[1] > 0);
+
+        // The org bucket still has the request the rejected call did not take
+        assertEquals(0, store.tryAcquire(Collections.singletonList(ORG), Collections.singletonList(quota(2)))[0]);
+    }
+
+    private static Quota quota(int burst) {
+        Quota quota = new Quota();
+        quota.setRate(0.001);
+        quota.setBurst(burst);
+        return quota;
+    }
+}